@@ -0,0 +1,29 @@
+package com.synapse.bench;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixEJML;
+import com.synapse.core.matrix.MatrixFloat;
+import com.synapse.core.matrix.MatrixJava;
+import com.synapse.core.matrix.MatrixSimd;
+import com.synapse.core.matrix.MatrixUJMP;
+
+/**
+ * Реализации Matrix, которые сравниваются в бенчмарках
+ */
+public enum Backend {
+    JAVA(new MatrixJava()),
+    SIMD(new MatrixSimd()),
+    EJML(new MatrixEJML()),
+    UJMP(new MatrixUJMP()),
+    FLOAT(new MatrixFloat());
+
+    private final Matrix prototype;
+
+    Backend(Matrix prototype) {
+        this.prototype = prototype;
+    }
+
+    public Matrix getPrototype() {
+        return prototype;
+    }
+}
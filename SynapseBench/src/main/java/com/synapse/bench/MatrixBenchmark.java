@@ -0,0 +1,64 @@
+package com.synapse.bench;
+
+import com.synapse.core.matrix.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций Matrix, создающих новую матрицу-результат.
+ * <p>
+ * Запуск: {@code java -jar SynapseBench/target/benchmarks.jar MatrixBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MatrixBenchmark {
+
+    @Benchmark
+    public Matrix mul(MatrixState state) {
+        // V = Y x W
+        return state.input.mul(state.weights);
+    }
+
+    @Benchmark
+    public Matrix tMul(MatrixState state) {
+        // ΔW = Y^T x δ
+        return state.input.tMul(state.gradient);
+    }
+
+    @Benchmark
+    public Matrix mulT(MatrixState state) {
+        // δ x W^T
+        return state.gradient.mulT(state.weights);
+    }
+
+    @Benchmark
+    public Matrix add(MatrixState state) {
+        return state.weights.add(state.corrections);
+    }
+
+    @Benchmark
+    public Matrix prod(MatrixState state) {
+        return state.weights.prod(state.corrections);
+    }
+
+    @Benchmark
+    public Matrix apply(MatrixState state) {
+        return state.weights.apply(state.activator);
+    }
+
+    @Benchmark
+    public Matrix scaleAdd(MatrixState state) {
+        // W + (-η * ΔW)
+        return state.weights.scaleAdd(-state.rate, state.corrections);
+    }
+}
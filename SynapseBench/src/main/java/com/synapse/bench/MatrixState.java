@@ -0,0 +1,103 @@
+package com.synapse.bench;
+
+import com.synapse.core.activation.Activation;
+import com.synapse.core.activation.ActivationLog;
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixSettings;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.function.DoubleFunction;
+
+/**
+ * Общее состояние бенчмарков: матрицы одного слоя сети размерности {@code rows x inputs -> outputs}.
+ * <p>
+ * Размерности соответствуют тем, на которых реально обучаются сети:
+ * первый и второй слои CIFAR-10 ({@code 3072 -> 5000 -> 10}) и скрытый слой Iris ({@code 4 -> 100}).
+ */
+@State(Scope.Thread)
+public class MatrixState {
+
+    @Param({"JAVA", "SIMD", "EJML", "UJMP", "FLOAT"})
+    public Backend backend;
+
+    /**
+     * Размерность слоя в формате {@code rows x inputs x outputs}
+     */
+    @Param({"1x3072x5000", "1x5000x10", "1x4x100"})
+    public String shape;
+
+    /**
+     * Входной вектор слоя Y[i] ({@code rows x inputs})
+     */
+    public Matrix input;
+    /**
+     * Матрица весов слоя W[i] ({@code inputs x outputs})
+     */
+    public Matrix weights;
+    /**
+     * Матрица корректировок весов ΔW[i] ({@code inputs x outputs})
+     */
+    public Matrix corrections;
+    /**
+     * Строка смещений слоя B[i] ({@code 1 x outputs})
+     */
+    public Matrix biases;
+    /**
+     * Выход слоя V[i] ({@code rows x outputs})
+     */
+    public Matrix output;
+    /**
+     * Активированный выход слоя Y[i+1] ({@code rows x outputs})
+     */
+    public Matrix activated;
+    /**
+     * Локальный градиент слоя δ[i] ({@code rows x outputs})
+     */
+    public Matrix gradient;
+    /**
+     * Градиент, распространенный на вход слоя ({@code rows x inputs})
+     */
+    public Matrix backGradient;
+    /**
+     * Результат поэлементных операций над матрицами весов ({@code inputs x outputs}). Операции пишут в отдельную
+     * матрицу, чтобы повторы бенчмарка не меняли исходные данные: например, многократное {@code W = W + (-η * ΔW)}
+     * уводит веса от реалистичных значений
+     */
+    public Matrix weightsResult;
+    /**
+     * Результат поэлементных операций над выходом слоя ({@code rows x outputs}). Многократное {@code δ = δ * V}
+     * на месте довело бы градиент до субнормальных чисел, а затем до нулей, которые обрабатываются с другой скоростью
+     */
+    public Matrix outputResult;
+
+    public Activation activation = new ActivationLog(0.2);
+    public DoubleFunction<Double> activator = activation.getActivator();
+    public double rate = 0.01;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MatrixSettings.setMatrixClass(backend.getPrototype());
+
+        String[] dims = shape.split("x");
+        int rows = Integer.parseInt(dims[0]);
+        int inputs = Integer.parseInt(dims[1]);
+        int outputs = Integer.parseInt(dims[2]);
+
+        Random random = new Random(42);
+        input = Matrix.create(rows, inputs, random::nextDouble);
+        weights = Matrix.create(inputs, outputs, () -> random.nextDouble() - 0.5);
+        corrections = Matrix.create(inputs, outputs, () -> random.nextDouble() - 0.5);
+        biases = Matrix.create(1, outputs, () -> random.nextDouble() - 0.5);
+        output = Matrix.create(rows, outputs, random::nextDouble);
+        activated = Matrix.create(rows, outputs);
+        gradient = Matrix.create(rows, outputs, () -> random.nextDouble() - 0.5);
+        backGradient = Matrix.create(rows, inputs);
+        weightsResult = Matrix.create(inputs, outputs);
+        outputResult = Matrix.create(rows, outputs);
+    }
+}
@@ -0,0 +1,102 @@
+package com.synapse.bench;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций MatrixUtils, записывающих результат в заранее созданную матрицу.
+ * Именно эти операции выполняются на каждом примере в MiddleTeacher.
+ * <p>
+ * Запуск: {@code java -jar SynapseBench/target/benchmarks.jar MatrixUtilsBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MatrixUtilsBenchmark {
+
+    @Benchmark
+    public Matrix mul(MatrixState state) {
+        // V = Y x W
+        MatrixUtils.mul(state.input, state.weights, state.output);
+        return state.output;
+    }
+
+    @Benchmark
+    public Matrix layer(MatrixState state) {
+        // V = Y x W + B, Y' = f(V) тремя отдельными проходами; V каждый раз перезаписывается умножением,
+        // поэтому сложение со смещениями на месте не накапливается между повторами
+        MatrixUtils.mul(state.input, state.weights, state.output);
+        MatrixUtils.addRow(state.output, state.biases, state.output);
+        MatrixUtils.activate(state.output, state.activation, state.activated);
+        return state.activated;
+    }
+
+    @Benchmark
+    public Matrix dense(MatrixState state) {
+        // V = Y x W + B, Y' = f(V) одним проходом
+        MatrixUtils.dense(state.input, state.weights, state.biases, state.activation, state.output, state.activated);
+        return state.activated;
+    }
+
+    @Benchmark
+    public Matrix tMul(MatrixState state) {
+        // ΔW = Y^T x δ
+        MatrixUtils.tMul(state.input, state.gradient, state.corrections);
+        return state.corrections;
+    }
+
+    @Benchmark
+    public Matrix mulT(MatrixState state) {
+        // δ x W^T
+        MatrixUtils.mulT(state.gradient, state.weights, state.backGradient);
+        return state.backGradient;
+    }
+
+    @Benchmark
+    public Matrix add(MatrixState state) {
+        MatrixUtils.add(state.corrections, state.weights, state.weightsResult);
+        return state.weightsResult;
+    }
+
+    @Benchmark
+    public Matrix prod(MatrixState state) {
+        MatrixUtils.prod(state.gradient, state.output, state.outputResult);
+        return state.outputResult;
+    }
+
+    @Benchmark
+    public Matrix apply(MatrixState state) {
+        MatrixUtils.apply(state.output, state.activator, state.gradient);
+        return state.gradient;
+    }
+
+    @Benchmark
+    public Matrix activate(MatrixState state) {
+        MatrixUtils.activate(state.output, state.activation, state.gradient);
+        return state.gradient;
+    }
+
+    @Benchmark
+    public Matrix scaleSub(MatrixState state) {
+        // W = W + (-η * ΔW)
+        MatrixUtils.scaleSub(state.weights, state.corrections, state.rate, state.weightsResult);
+        return state.weightsResult;
+    }
+
+    @Benchmark
+    public Matrix copyTo(MatrixState state) {
+        MatrixUtils.copyTo(state.gradient, state.output);
+        return state.output;
+    }
+}
@@ -5,9 +5,74 @@ import java.util.Arrays;
 import java.util.function.DoubleFunction;
 
 public interface Activation extends Cloneable, Externalizable {
-    DoubleFunction<Double> getActivator();
 
-    DoubleFunction<Double> getDeactivator();
+    /**
+     * Вычисляет функцию активации без упаковки аргумента и результата в Double
+     */
+    double activate(double x);
+
+    /**
+     * Вычисляет производную функции активации без упаковки аргумента и результата в Double
+     */
+    double derivative(double x);
+
+    /**
+     * Вычисляет функцию активации для элементов {@code in[from..to)} и записывает результат в те же позиции {@code out}.
+     * Массивы могут совпадать
+     */
+    default void activate(double[] in, double[] out, int from, int to) {
+        for (int i = from; i < to; i++)
+            out[i] = activate(in[i]);
+    }
+
+    /**
+     * Вычисляет производную функции активации для элементов {@code in[from..to)} и записывает результат
+     * в те же позиции {@code out}. Массивы могут совпадать
+     */
+    default void derivative(double[] in, double[] out, int from, int to) {
+        for (int i = from; i < to; i++)
+            out[i] = derivative(in[i]);
+    }
+
+    /**
+     * Вычисляет функцию активации для элементов {@code in[from..to)} одинарной точности
+     */
+    default void activate(float[] in, float[] out, int from, int to) {
+        for (int i = from; i < to; i++)
+            out[i] = (float) activate(in[i]);
+    }
+
+    /**
+     * Вычисляет производную функции активации для элементов {@code in[from..to)} одинарной точности
+     */
+    default void derivative(float[] in, float[] out, int from, int to) {
+        for (int i = from; i < to; i++)
+            out[i] = (float) derivative(in[i]);
+    }
+
+    default void activate(double[] in, double[] out) {
+        activate(in, out, 0, in.length);
+    }
+
+    default void derivative(double[] in, double[] out) {
+        derivative(in, out, 0, in.length);
+    }
+
+    /**
+     * Функция активации в виде DoubleFunction. Каждый вызов упаковывает результат в Double,
+     * для вычислений над матрицами следует использовать {@link #activate(double[], double[], int, int)}
+     */
+    default DoubleFunction<Double> getActivator() {
+        return this::activate;
+    }
+
+    /**
+     * Производная функции активации в виде DoubleFunction. Каждый вызов упаковывает результат в Double,
+     * для вычислений над матрицами следует использовать {@link #derivative(double[], double[], int, int)}
+     */
+    default DoubleFunction<Double> getDeactivator() {
+        return this::derivative;
+    }
 
     double getScale();
 
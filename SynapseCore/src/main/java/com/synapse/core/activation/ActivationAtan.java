@@ -2,11 +2,16 @@ package com.synapse.core.activation;
 
 import lombok.NoArgsConstructor;
 
+import java.io.Serial;
+
 import static java.lang.Math.*;
 
 @NoArgsConstructor
 public class ActivationAtan extends ActivationBase  {
 
+    @Serial
+    private final static long serialVersionUID = 7386409161091474521L;
+
     private static final double m = 2 / PI;
 
     @Override
@@ -16,7 +21,33 @@ public class ActivationAtan extends ActivationBase  {
 
     public ActivationAtan(double k) {
         scale = k;
-        activator = x -> m * atan(scale * x);
-        deactivator = x -> m * scale / (1 + pow(scale * x, 2));
+    }
+
+    @Override
+    public double activate(double x) {
+        return m * atan(scale * x);
+    }
+
+    @Override
+    public double derivative(double x) {
+        double kx = scale * x;
+        return m * scale / (1 + kx * kx);
+    }
+
+    @Override
+    public void activate(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++)
+            out[i] = m * atan(k * in[i]);
+    }
+
+    @Override
+    public void derivative(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        double mk = m * k;
+        for (int i = from; i < to; i++) {
+            double kx = k * in[i];
+            out[i] = mk / (1 + kx * kx);
+        }
     }
 }
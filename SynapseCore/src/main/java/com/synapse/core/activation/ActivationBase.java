@@ -1,27 +1,18 @@
 package com.synapse.core.activation;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import java.io.Serializable;
+import java.io.Serial;
 import java.util.Objects;
-import java.util.function.DoubleFunction;
 
 public abstract class ActivationBase implements Activation {
 
-    protected double scale;
-    protected DoubleFunction<Double> activator;
-    protected DoubleFunction<Double> deactivator;
-
-    @Override
-    public DoubleFunction<Double> getActivator() {
-        return activator;
-    }
+    @Serial
+    private static final long serialVersionUID = -4718469264524133774L;
 
-    @Override
-    public DoubleFunction<Double> getDeactivator() {
-        return deactivator;
-    }
+    protected double scale;
 
     @Override
     public double getScale() {
@@ -37,8 +28,6 @@ public abstract class ActivationBase implements Activation {
     public Activation clone() {
         try {
             ActivationBase clone = (ActivationBase) super.clone();
-            clone.activator = activator;
-            clone.deactivator = deactivator;
             clone.scale = scale;
             return clone;
         } catch (CloneNotSupportedException e) {
@@ -62,17 +51,27 @@ public abstract class ActivationBase implements Activation {
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        DoubleFunction<Double> function;
-        function = (DoubleFunction<Double> & Serializable) (arg -> activator.apply(arg));
-        out.writeObject(function);
-        function = (DoubleFunction<Double> & Serializable) (arg -> deactivator.apply(arg));
-        out.writeObject(function);
+        out.writeDouble(scale);
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-        activator = (DoubleFunction<Double>) in.readObject();
-        deactivator = (DoubleFunction<Double>) in.readObject();
+        try {
+            scale = in.readDouble();
+        } catch (EOFException e) {
+            // в прежнем формате вместо коэффициента записывались две сериализованные лямбды, которые нельзя
+            // восстановить; коэффициент в нем не сохранялся и остается нулевым, как и при чтении раньше
+            skipLegacyFunction(in);
+            skipLegacyFunction(in);
+        }
+    }
+
+    private static void skipLegacyFunction(ObjectInput in) throws IOException, ClassNotFoundException {
+        try {
+            in.readObject();
+        } catch (RuntimeException e) {
+            // данные лямбды прочитаны целиком, а восстановить ее нельзя: класс больше не содержит ее кода
+        }
     }
 
     @Override
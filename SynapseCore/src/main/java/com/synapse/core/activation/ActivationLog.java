@@ -19,10 +19,32 @@ public class ActivationLog extends ActivationBase {
 
     public ActivationLog(double k) {
         scale = k;
-        activator = x -> 1.0 / (1.0 + exp(-scale * x));
-        deactivator = x -> {
-            double exp = activator.apply(x);
-            return scale * exp * (1 - exp);
-        };
+    }
+
+    @Override
+    public double activate(double x) {
+        return 1.0 / (1.0 + exp(-scale * x));
+    }
+
+    @Override
+    public double derivative(double x) {
+        double exp = activate(x);
+        return scale * exp * (1 - exp);
+    }
+
+    @Override
+    public void activate(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++)
+            out[i] = 1.0 / (1.0 + exp(-k * in[i]));
+    }
+
+    @Override
+    public void derivative(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++) {
+            double exp = 1.0 / (1.0 + exp(-k * in[i]));
+            out[i] = k * exp * (1 - exp);
+        }
     }
 }
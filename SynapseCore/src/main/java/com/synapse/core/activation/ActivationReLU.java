@@ -17,7 +17,31 @@ public class ActivationReLU extends ActivationBase {
 
     public ActivationReLU(double k) {
         scale = k;
-        activator = x -> x > 0 ? scale * x : 0.0;
-        deactivator = x -> x > 0 ? scale : 0.0;
+    }
+
+    @Override
+    public double activate(double x) {
+        return x > 0 ? scale * x : 0.0;
+    }
+
+    @Override
+    public double derivative(double x) {
+        return x > 0 ? scale : 0.0;
+    }
+
+    @Override
+    public void activate(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++) {
+            double x = in[i];
+            out[i] = x > 0 ? k * x : 0.0;
+        }
+    }
+
+    @Override
+    public void derivative(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++)
+            out[i] = in[i] > 0 ? k : 0.0;
     }
 }
@@ -2,11 +2,16 @@ package com.synapse.core.activation;
 
 import lombok.NoArgsConstructor;
 
+import java.io.Serial;
+
 import static java.lang.Math.*;
 
 @NoArgsConstructor
 public class ActivationSin extends ActivationBase {
 
+    @Serial
+    private final static long serialVersionUID = -5622590987609824237L;
+
     @Override
     public String getName() {
         return "sin";
@@ -14,15 +19,39 @@ public class ActivationSin extends ActivationBase {
 
     public ActivationSin(double k) {
         scale = k;
-        activator = x -> {
-            if (x < -PI / (2 * scale)) return -1.0;
-            if (x > +PI / (2 * scale)) return +1.0;
-            return sin(scale * x);
-        };
-        deactivator = x -> {
-            if (x < -PI / (2 * scale)) return 0.0;
-            if (x > +PI / (2 * scale)) return 0.0;
-            return scale * cos(scale * x);
-        };
+    }
+
+    @Override
+    public double activate(double x) {
+        if (x < -PI / (2 * scale)) return -1.0;
+        if (x > +PI / (2 * scale)) return +1.0;
+        return sin(scale * x);
+    }
+
+    @Override
+    public double derivative(double x) {
+        if (x < -PI / (2 * scale)) return 0.0;
+        if (x > +PI / (2 * scale)) return 0.0;
+        return scale * cos(scale * x);
+    }
+
+    @Override
+    public void activate(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        double bound = PI / (2 * k);
+        for (int i = from; i < to; i++) {
+            double x = in[i];
+            out[i] = x < -bound ? -1.0 : x > bound ? 1.0 : sin(k * x);
+        }
+    }
+
+    @Override
+    public void derivative(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        double bound = PI / (2 * k);
+        for (int i = from; i < to; i++) {
+            double x = in[i];
+            out[i] = x < -bound || x > bound ? 0.0 : k * cos(k * x);
+        }
     }
 }
@@ -2,11 +2,16 @@ package com.synapse.core.activation;
 
 import lombok.NoArgsConstructor;
 
+import java.io.Serial;
+
 import static java.lang.Math.*;
 
 @NoArgsConstructor
 public class ActivationTanh extends ActivationBase {
 
+    @Serial
+    private final static long serialVersionUID = -476038955516777289L;
+
     @Override
     public String getName() {
         return "tanh";
@@ -14,7 +19,32 @@ public class ActivationTanh extends ActivationBase {
 
     public ActivationTanh(double k) {
         scale = k;
-        activator = x -> tanh(scale * x);
-        deactivator = x -> 1 - pow(tanh(scale * x), 2.0);
+    }
+
+    @Override
+    public double activate(double x) {
+        return tanh(scale * x);
+    }
+
+    @Override
+    public double derivative(double x) {
+        double tanh = tanh(scale * x);
+        return 1 - tanh * tanh;
+    }
+
+    @Override
+    public void activate(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++)
+            out[i] = tanh(k * in[i]);
+    }
+
+    @Override
+    public void derivative(double[] in, double[] out, int from, int to) {
+        double k = scale;
+        for (int i = from; i < to; i++) {
+            double tanh = tanh(k * in[i]);
+            out[i] = 1 - tanh * tanh;
+        }
     }
 }
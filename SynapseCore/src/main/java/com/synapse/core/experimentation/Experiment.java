@@ -3,12 +3,19 @@ package com.synapse.core.experimentation;
 import com.synapse.core.tools.Monitored;
 import com.synapse.core.training.teachers.MiddleTeacher;
 import com.synapse.core.training.teachers.Teacher;
+import com.synapse.core.training.teachers.WorkspacePool;
 import com.synapse.core.training.TrainingResult;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 public class Experiment implements Callable<TrainingResult>, Monitored {
     @Setter
@@ -16,6 +23,23 @@ public class Experiment implements Callable<TrainingResult>, Monitored {
     @Getter
     @Setter
     private ExperimentParameters experimentParameters;
+    @Setter
+    private Supplier<Teacher> teacherFactory = MiddleTeacher::new;
+    /**
+     * Пул рабочих областей, общий для экспериментов одного запуска
+     */
+    @Setter
+    private WorkspacePool workspacePool;
+    /**
+     * Файл контрольной точки учителя. Если файл существует, обучение продолжается с сохраненной в нем эпохи,
+     * а после завершения обучения файл удаляется
+     */
+    @Setter
+    private File checkpointFile;
+    @Setter
+    private int checkpointEpochs;
+    @Setter
+    private Duration checkpointInterval;
     private Teacher teacher;
 
     public Experiment(ExperimentParameters experimentParameters) {
@@ -24,10 +48,24 @@ public class Experiment implements Callable<TrainingResult>, Monitored {
 
     @Override
     public TrainingResult call() {
-        teacher = new MiddleTeacher();
+        teacher = teacherFactory.get();
         teacher.setTeacherName(experimentName + "-" + "teacher");
         teacher.setParameters(experimentParameters);
-        return teacher.call();
+        teacher.setWorkspacePool(workspacePool);
+        if (checkpointFile == null) return teacher.call();
+
+        teacher.setCheckpointFile(checkpointFile);
+        teacher.setCheckpointEpochs(checkpointEpochs);
+        teacher.setCheckpointInterval(checkpointInterval);
+        try {
+            TrainingResult result = checkpointFile.exists() && teacher instanceof MiddleTeacher middleTeacher
+                    ? middleTeacher.resume(checkpointFile)
+                    : teacher.call();
+            Files.deleteIfExists(checkpointFile.toPath());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 
@@ -1,8 +1,10 @@
 package com.synapse.core.experimentation;
 
 import com.synapse.core.activation.Activation;
+import com.synapse.core.matrix.Precision;
 import com.synapse.core.training.TrainingParameters;
 import com.synapse.core.nets.NetParameters;
+import com.synapse.core.optimizers.Optimizer;
 import com.synapse.core.rates.Rate;
 import com.synapse.core.samples.SampleService;
 
@@ -47,6 +49,10 @@ public class ExperimentParametersFactory {
         setNetParams(NetParameters::setActivation, activations);
     }
 
+    public void setPrecisions(List<Precision> precisions) {
+        setNetParams(NetParameters::setPrecision, precisions);
+    }
+
 
     public void setRates(List<Rate> rates) {
         setTrainingParams(TrainingParameters::setRate, rates);
@@ -60,6 +66,14 @@ public class ExperimentParametersFactory {
         setTrainingParams(TrainingParameters::setBatchSize, batchSizes);
     }
 
+    public void setBatchedModes(List<Boolean> batchedModes) {
+        setTrainingParams(TrainingParameters::setBatched, batchedModes);
+    }
+
+    public void setOptimizers(List<Optimizer> optimizers) {
+        setTrainingParams(TrainingParameters::setOptimizer, optimizers);
+    }
+
     public void setMaxEpochs(List<Integer> epochs) {
         setTrainingParams(TrainingParameters::setMaxEpochsCount, epochs);
     }
@@ -1,16 +1,26 @@
 package com.synapse.core.experimentation;
 
 import com.synapse.core.activation.Activation;
+import com.synapse.core.matrix.Precision;
 import com.synapse.core.nets.NetParameters;
+import com.synapse.core.optimizers.Optimizer;
 import com.synapse.core.rates.Rate;
 import com.synapse.core.samples.SampleService;
 import com.synapse.core.tools.Monitored;
+import com.synapse.core.training.TrainingCheckpoint;
 import com.synapse.core.training.TrainingParameters;
+import com.synapse.core.training.teachers.MiddleTeacher;
+import com.synapse.core.training.teachers.Teacher;
+import com.synapse.core.training.teachers.WorkspacePool;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
+import java.io.File;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 @SuppressWarnings("ALL")
 public abstract class Experimenter implements Callable<ExperimentResult>, Monitored {
@@ -20,20 +30,54 @@ public abstract class Experimenter implements Callable<ExperimentResult>, Monito
     @Getter
     private List<Integer> batchSizes;
     @Getter
+    private List<Boolean> batchedModes;
+    @Getter
     private List<Double> errorLimits;
     @Getter
     private List<int[]> layerSizes;
     @Getter
     private List<Activation> activations;
     @Getter
+    private List<Precision> precisions;
+    @Getter
     private List<Rate> rates;
     @Getter
+    private List<Optimizer> optimizers;
+    @Getter
     private List<NetParameters> netParameters;
     @Getter
     private List<TrainingParameters> trainingParameters;
     @Getter
     private List<SampleService> sampleServices;
 
+    /**
+     * Фабрика учителей, которыми проводятся эксперименты
+     */
+    @Getter
+    @Setter
+    private Supplier<Teacher> teacherFactory = MiddleTeacher::new;
+
+    /**
+     * Пул рабочих областей текущего запуска: эксперименты с сетями одной топологии
+     * переиспользуют память временных матриц друг друга
+     */
+    @Getter(AccessLevel.PROTECTED)
+    private WorkspacePool workspacePool;
+
+    /**
+     * Папка контрольных точек: учитель каждого эксперимента сохраняет в ней точку под именем эксперимента
+     * и при повторном запуске продолжает обучение с нее. Если папка не задана, контрольные точки не сохраняются
+     */
+    @Getter
+    @Setter
+    private File checkpointDirectory;
+    @Getter
+    @Setter
+    private int checkpointEpochs = 1;
+    @Getter
+    @Setter
+    private Duration checkpointInterval;
+
     @Getter
     private Duration duration;
     protected String experimenterName = "experimenter0";
@@ -61,7 +105,12 @@ public abstract class Experimenter implements Callable<ExperimentResult>, Monito
 
         List<ExperimentParameters> parameters = makeExperimentParameters();
 
-        return performExperiments(parameters);
+        try (WorkspacePool pool = new WorkspacePool()) {
+            workspacePool = pool;
+            return performExperiments(parameters);
+        } finally {
+            workspacePool = null;
+        }
     }
 
     private List<ExperimentParameters> makeExperimentParameters() {
@@ -72,6 +121,8 @@ public abstract class Experimenter implements Callable<ExperimentResult>, Monito
         else {
             factory.setActivations(activations);
             factory.setLayerSizes(layerSizes);
+            if (precisions != null && !precisions.isEmpty())
+                factory.setPrecisions(precisions);
         }
         if (trainingParameters != null)
             factory.setTrainingParameters(trainingParameters);
@@ -80,12 +131,29 @@ public abstract class Experimenter implements Callable<ExperimentResult>, Monito
             factory.setRates(rates);
             factory.setErrorLimits(errorLimits);
             factory.setBatchSizes(batchSizes);
+            if (batchedModes != null && !batchedModes.isEmpty())
+                factory.setBatchedModes(batchedModes);
+            if (optimizers != null && !optimizers.isEmpty())
+                factory.setOptimizers(optimizers);
         }
         factory.setSampleServices(sampleServices);
 
         return factory.getExpParams();
     }
 
+    /**
+     * Передает эксперименту настройки контрольных точек. Имя файла точки содержит отпечаток параметров эксперимента,
+     * поэтому после изменения сетки параметров эксперимент не продолжит точку, сохраненную с другими параметрами
+     */
+    protected void setCheckpoints(Experiment experiment, String experimentName) {
+        if (checkpointDirectory == null) return;
+        ExperimentParameters parameters = experiment.getExperimentParameters();
+        long parametersHash = TrainingCheckpoint.fingerprint(parameters.getNetParameters(), parameters.getTrainingParameters());
+        experiment.setCheckpointFile(new File(checkpointDirectory, "%s-%08x.ckpt".formatted(experimentName, parametersHash)));
+        experiment.setCheckpointEpochs(checkpointEpochs);
+        experiment.setCheckpointInterval(checkpointInterval);
+    }
+
     @Override
     public String getProcessName() {
         return experimenterName;
@@ -103,6 +171,14 @@ public abstract class Experimenter implements Callable<ExperimentResult>, Monito
         this.batchSizes = List.of(batchSizes);
     }
 
+    public void setBatchedModes(Boolean... batchedModes) {
+        this.batchedModes = List.of(batchedModes);
+    }
+
+    public void setOptimizers(Optimizer... optimizers) {
+        this.optimizers = List.of(optimizers);
+    }
+
     public void setErrorLimits(Double... errorLimits) {
         this.errorLimits = List.of(errorLimits);
     }
@@ -115,6 +191,10 @@ public abstract class Experimenter implements Callable<ExperimentResult>, Monito
         this.activations = List.of(activations);
     }
 
+    public void setPrecisions(Precision... precisions) {
+        this.precisions = List.of(precisions);
+    }
+
     public void setRates(Rate... rates) {
         this.rates = List.of(rates);
     }
@@ -34,6 +34,9 @@ public class ParallelExperimenter extends Experimenter {
             for (int i = 0; i < parameters.size(); i++) {
                 Experiment experiment = new Experiment(parameters.get(i));
                 experiment.setExperimentName(experimenterName + "-" + "experiment" + i);
+                experiment.setTeacherFactory(getTeacherFactory());
+                experiment.setWorkspacePool(getWorkspacePool());
+                setCheckpoints(experiment, experimenterName + "-" + "experiment" + i);
                 experiments.add(experiment);
             }
             Timing timing = Timing.startTiming();
@@ -17,6 +17,9 @@ public class SerialExperimenter extends Experimenter {
         for (int i = 0; i < parameters.size(); i++) {
             Experiment experiment = new Experiment(parameters.get(i));
             experiment.setExperimentName(experimenterName + "-" + "experiment" + i);
+            experiment.setTeacherFactory(getTeacherFactory());
+            experiment.setWorkspacePool(getWorkspacePool());
+            setCheckpoints(experiment, experimenterName + "-" + "experiment" + i);
             experiments.add(experiment);
         }
 
@@ -0,0 +1,152 @@
+package com.synapse.core.matrix;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Вычислительные ядра над построчно хранимыми буферами вне кучи ({@link MatrixOffHeap}).
+ * <p>
+ * Порядок обхода тот же, что у {@link MatrixKernels}: произведения вычисляются в порядке i-k-j,
+ * чтобы правая матрица и результат читались построчно. Обращения к буферу идут по абсолютным индексам
+ * и не меняют его позицию, поэтому ядра можно одновременно вызывать над одним буфером из разных потоков
+ */
+class BufferKernels {
+
+    static void add(DoubleBuffer a, DoubleBuffer b, DoubleBuffer c, int length) {
+        for (int i = 0; i < length; i++)
+            c.put(i, a.get(i) + b.get(i));
+    }
+
+    static void sub(DoubleBuffer a, DoubleBuffer b, DoubleBuffer c, int length) {
+        for (int i = 0; i < length; i++)
+            c.put(i, a.get(i) - b.get(i));
+    }
+
+    static void prod(DoubleBuffer a, DoubleBuffer b, DoubleBuffer c, int length) {
+        for (int i = 0; i < length; i++)
+            c.put(i, a.get(i) * b.get(i));
+    }
+
+    static void scale(DoubleBuffer a, double scalar, DoubleBuffer b, int length) {
+        for (int i = 0; i < length; i++)
+            b.put(i, a.get(i) * scalar);
+    }
+
+    /**
+     * Вычисляет {@code c = a + scalar * b}
+     */
+    static void scaleAdd(DoubleBuffer a, DoubleBuffer b, double scalar, DoubleBuffer c, int length) {
+        for (int i = 0; i < length; i++)
+            c.put(i, a.get(i) + scalar * b.get(i));
+    }
+
+    static void momentum(DoubleBuffer w, DoubleBuffer g, DoubleBuffer v, double momentum, double rate, boolean nesterov, int length) {
+        for (int i = 0; i < length; i++) {
+            double gradient = g.get(i);
+            double velocity = momentum * v.get(i) + gradient;
+            v.put(i, velocity);
+            w.put(i, w.get(i) - rate * (nesterov ? gradient + momentum * velocity : velocity));
+        }
+    }
+
+    static void rmsProp(DoubleBuffer w, DoubleBuffer g, DoubleBuffer s, double decay, double rate, double epsilon, int length) {
+        for (int i = 0; i < length; i++) {
+            double gradient = g.get(i);
+            double square = decay * s.get(i) + (1 - decay) * gradient * gradient;
+            s.put(i, square);
+            w.put(i, w.get(i) - rate * gradient / (Math.sqrt(square) + epsilon));
+        }
+    }
+
+    static void adam(DoubleBuffer w, DoubleBuffer g, DoubleBuffer m, DoubleBuffer v, double beta1, double beta2, double rate, double epsilon, int length) {
+        for (int i = 0; i < length; i++) {
+            double gradient = g.get(i);
+            double mean = beta1 * m.get(i) + (1 - beta1) * gradient;
+            double square = beta2 * v.get(i) + (1 - beta2) * gradient * gradient;
+            m.put(i, mean);
+            v.put(i, square);
+            w.put(i, w.get(i) - rate * mean / (Math.sqrt(square) + epsilon));
+        }
+    }
+
+    /**
+     * Прибавляет строку {@code row} к каждой строке матрицы {@code a} размерности {@code rows x columns}
+     */
+    static void addRow(DoubleBuffer a, DoubleBuffer row, DoubleBuffer c, int rows, int columns) {
+        for (int i = 0, offset = 0; i < rows; i++, offset += columns)
+            for (int j = 0; j < columns; j++)
+                c.put(offset + j, a.get(offset + j) + row.get(j));
+    }
+
+    /**
+     * Складывает строки матрицы {@code a} размерности {@code rows x columns} в строку {@code row}
+     */
+    static void sumRows(DoubleBuffer a, DoubleBuffer row, int rows, int columns) {
+        for (int j = 0; j < columns; j++)
+            row.put(j, a.get(j));
+        for (int i = 1, offset = columns; i < rows; i++, offset += columns)
+            for (int j = 0; j < columns; j++)
+                row.put(j, row.get(j) + a.get(offset + j));
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a x b}
+     *
+     * @param a Левая матрица размерности {@code rows x inner}
+     * @param b Правая матрица размерности {@code inner x columns}
+     * @param c Матрица-результат размерности {@code rows x columns}
+     */
+    static void mul(DoubleBuffer a, DoubleBuffer b, DoubleBuffer c, int rows, int inner, int columns) {
+        for (int i = 0; i < rows; i++) {
+            int cRow = i * columns;
+            for (int j = 0; j < columns; j++)
+                c.put(cRow + j, 0.0);
+            for (int k = 0; k < inner; k++) {
+                double aik = a.get(i * inner + k);
+                int bRow = k * columns;
+                for (int j = 0; j < columns; j++)
+                    c.put(cRow + j, c.get(cRow + j) + aik * b.get(bRow + j));
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a^T x b}
+     *
+     * @param a Левая матрица размерности {@code inner x rows}
+     * @param b Правая матрица размерности {@code inner x columns}
+     * @param c Матрица-результат размерности {@code rows x columns}
+     */
+    static void tMul(DoubleBuffer a, DoubleBuffer b, DoubleBuffer c, int rows, int inner, int columns) {
+        for (int i = 0; i < rows * columns; i++)
+            c.put(i, 0.0);
+        for (int k = 0; k < inner; k++) {
+            int bRow = k * columns;
+            for (int i = 0; i < rows; i++) {
+                double aki = a.get(k * rows + i);
+                int cRow = i * columns;
+                for (int j = 0; j < columns; j++)
+                    c.put(cRow + j, c.get(cRow + j) + aki * b.get(bRow + j));
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a x b^T}
+     *
+     * @param a Левая матрица размерности {@code rows x inner}
+     * @param b Правая матрица размерности {@code columns x inner}
+     * @param c Матрица-результат размерности {@code rows x columns}
+     */
+    static void mulT(DoubleBuffer a, DoubleBuffer b, DoubleBuffer c, int rows, int inner, int columns) {
+        for (int i = 0; i < rows; i++) {
+            int aRow = i * inner;
+            for (int j = 0; j < columns; j++) {
+                int bRow = j * inner;
+                double sum = 0.0;
+                for (int k = 0; k < inner; k++)
+                    sum += a.get(aRow + k) * b.get(bRow + k);
+                c.put(i * columns + j, sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.synapse.core.matrix;
+
+import com.synapse.core.activation.Activation;
+
+import java.util.function.DoubleFunction;
+
+/**
+ * Вычислительные ядра {@link MatrixKernels} над построчно хранимыми массивами float.
+ * <p>
+ * Порядок обхода и разбиение на блоки те же, что у MatrixKernels. Элемент float занимает вдвое меньше
+ * памяти, поэтому в блок столбцов результата помещается вдвое больше элементов, а простые циклы
+ * JIT-компилятор разворачивает в SIMD-инструкции с вдвое большим числом элементов в регистре.
+ */
+class FloatKernels {
+
+    /**
+     * Количество строк результата в одном блоке
+     */
+    static final int ROWS_BLOCK = 64;
+    /**
+     * Количество столбцов результата в одном блоке (4 КБ строки блока помещаются в L1)
+     */
+    static final int COLUMNS_BLOCK = 1024;
+    /**
+     * Длина отрезка общего измерения в одном блоке
+     */
+    static final int INNER_BLOCK = 128;
+
+    static void add(float[] a, float[] b, float[] c, int length) {
+        for (int i = 0; i < length; i++)
+            c[i] = a[i] + b[i];
+    }
+
+    static void sub(float[] a, float[] b, float[] c, int length) {
+        for (int i = 0; i < length; i++)
+            c[i] = a[i] - b[i];
+    }
+
+    static void prod(float[] a, float[] b, float[] c, int length) {
+        for (int i = 0; i < length; i++)
+            c[i] = a[i] * b[i];
+    }
+
+    static void scale(float[] a, float scalar, float[] b, int length) {
+        for (int i = 0; i < length; i++)
+            b[i] = a[i] * scalar;
+    }
+
+    /**
+     * Вычисляет {@code c = a + scalar * b}
+     */
+    static void scaleAdd(float[] a, float[] b, float scalar, float[] c, int length) {
+        for (int i = 0; i < length; i++)
+            c[i] = a[i] + scalar * b[i];
+    }
+
+    static void momentum(float[] w, float[] g, float[] v, float momentum, float rate, boolean nesterov, int length) {
+        for (int i = 0; i < length; i++) {
+            float velocity = momentum * v[i] + g[i];
+            v[i] = velocity;
+            w[i] -= rate * (nesterov ? g[i] + momentum * velocity : velocity);
+        }
+    }
+
+    static void rmsProp(float[] w, float[] g, float[] s, float decay, float rate, float epsilon, int length) {
+        for (int i = 0; i < length; i++) {
+            float square = decay * s[i] + (1 - decay) * g[i] * g[i];
+            s[i] = square;
+            w[i] -= rate * g[i] / ((float) Math.sqrt(square) + epsilon);
+        }
+    }
+
+    static void adam(float[] w, float[] g, float[] m, float[] v, float beta1, float beta2, float rate, float epsilon, int length) {
+        for (int i = 0; i < length; i++) {
+            float mean = beta1 * m[i] + (1 - beta1) * g[i];
+            float square = beta2 * v[i] + (1 - beta2) * g[i] * g[i];
+            m[i] = mean;
+            v[i] = square;
+            w[i] -= rate * mean / ((float) Math.sqrt(square) + epsilon);
+        }
+    }
+
+    static void apply(float[] a, DoubleFunction<Double> function, float[] b, int length) {
+        for (int i = 0; i < length; i++)
+            b[i] = function.apply(a[i]).floatValue();
+    }
+
+    /**
+     * Прибавляет строку {@code row} к каждой строке матрицы {@code a} размерности {@code rows x columns}
+     */
+    static void addRow(float[] a, float[] row, float[] c, int rows, int columns) {
+        for (int i = 0, offset = 0; i < rows; i++, offset += columns)
+            for (int j = 0; j < columns; j++)
+                c[offset + j] = a[offset + j] + row[j];
+    }
+
+    /**
+     * Складывает строки матрицы {@code a} размерности {@code rows x columns} в строку {@code row}
+     */
+    static void sumRows(float[] a, float[] row, int rows, int columns) {
+        System.arraycopy(a, 0, row, 0, columns);
+        for (int i = 1, offset = columns; i < rows; i++, offset += columns)
+            for (int j = 0; j < columns; j++)
+                row[j] += a[offset + j];
+    }
+
+    /**
+     * Транспонирует матрицу {@code a} размерности {@code rows x columns} в матрицу {@code b}
+     */
+    static void trans(float[] a, float[] b, int rows, int columns) {
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += ROWS_BLOCK) {
+                int jEnd = Math.min(jj + ROWS_BLOCK, columns);
+                for (int i = ii; i < iEnd; i++)
+                    for (int j = jj; j < jEnd; j++)
+                        b[j * rows + i] = a[i * columns + j];
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a x b}
+     *
+     * @param a    Левая матрица размерности {@code rows x inner}
+     * @param b    Правая матрица размерности {@code inner x columns}
+     * @param c    Матрица-результат размерности {@code rows x columns}
+     */
+    static void mul(float[] a, float[] b, float[] c, int rows, int inner, int columns) {
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, columns);
+                for (int kk = 0; kk < inner; kk += INNER_BLOCK) {
+                    int kEnd = Math.min(kk + INNER_BLOCK, inner);
+                    for (int i = ii; i < iEnd; i++) {
+                        mulRow(a, i * inner, b, columns, c, i * columns, kk, kEnd, jj, jEnd, kk == 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Вычисляет полносвязный слой {@code y = f(x x w + b)} за один проход по результату: блок строки результата
+     * заполняется смещениями, накапливает произведение и сразу, пока находится в кэше, проходит через функцию
+     * активации. Смещения прибавляются к каждой строке результата
+     *
+     * @param x    Входная матрица размерности {@code rows x inner}
+     * @param w    Матрица весов размерности {@code inner x columns}
+     * @param b    Строка смещений длины {@code columns}
+     * @param v    Матрица для значений до активации размерности {@code rows x columns} или null, если они не нужны
+     * @param y    Матрица-результат размерности {@code rows x columns}
+     */
+    static void dense(float[] x, float[] w, float[] b, Activation activation, float[] v, float[] y,
+                      int rows, int inner, int columns) {
+        float[] t = v != null ? v : y;
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, columns);
+                for (int i = ii; i < iEnd; i++)
+                    System.arraycopy(b, jj, t, i * columns + jj, jEnd - jj);
+                for (int kk = 0; kk < inner; kk += INNER_BLOCK) {
+                    int kEnd = Math.min(kk + INNER_BLOCK, inner);
+                    for (int i = ii; i < iEnd; i++) {
+                        mulRow(x, i * inner, w, columns, t, i * columns, kk, kEnd, jj, jEnd, false);
+                    }
+                }
+                for (int i = ii; i < iEnd; i++)
+                    activation.activate(t, y, i * columns + jj, i * columns + jEnd);
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a^T x b}
+     *
+     * @param a    Левая матрица размерности {@code inner x rows}
+     * @param b    Правая матрица размерности {@code inner x columns}
+     * @param c    Матрица-результат размерности {@code rows x columns}
+     */
+    static void tMul(float[] a, float[] b, float[] c, int rows, int inner, int columns) {
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, columns);
+                for (int kk = 0; kk < inner; kk += INNER_BLOCK) {
+                    int kEnd = Math.min(kk + INNER_BLOCK, inner);
+                    for (int i = ii; i < iEnd; i++) {
+                        // элементы столбца i матрицы a идут с шагом rows
+                        tMulRow(a, i, rows, b, columns, c, i * columns, kk, kEnd, jj, jEnd, kk == 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a x b^T}
+     *
+     * @param a    Левая матрица размерности {@code rows x inner}
+     * @param b    Правая матрица размерности {@code columns x inner}
+     * @param c    Матрица-результат размерности {@code rows x columns}
+     */
+    static void mulT(float[] a, float[] b, float[] c, int rows, int inner, int columns) {
+        for (int jj = 0; jj < columns; jj += ROWS_BLOCK) {
+            int jEnd = Math.min(jj + ROWS_BLOCK, columns);
+            for (int kk = 0; kk < inner; kk += COLUMNS_BLOCK) {
+                int kEnd = Math.min(kk + COLUMNS_BLOCK, inner);
+                for (int i = 0; i < rows; i++) {
+                    mulTRow(a, i * inner, b, inner, c, i * columns, kk, kEnd, jj, jEnd, kk == 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Добавляет к отрезку строки результата {@code c[jj..jEnd)} вклад строк {@code b[kk..kEnd)},
+     * взвешенных элементами строки {@code a}. Если {@code assign}, отрезок результата перезаписывается.
+     */
+    private static void mulRow(float[] a, int aRow, float[] b, int bStride, float[] c, int cRow,
+                               int kk, int kEnd, int jj, int jEnd, boolean assign) {
+        int k = kk;
+        if (assign) {
+            if (k + 3 < kEnd) {
+                float a0 = a[aRow + k], a1 = a[aRow + k + 1], a2 = a[aRow + k + 2], a3 = a[aRow + k + 3];
+                int b0 = k * bStride, b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+                for (int j = jj; j < jEnd; j++)
+                    c[cRow + j] = a0 * b[b0 + j] + a1 * b[b1 + j] + a2 * b[b2 + j] + a3 * b[b3 + j];
+                k += 4;
+            } else {
+                float a0 = a[aRow + k];
+                int b0 = k * bStride;
+                for (int j = jj; j < jEnd; j++)
+                    c[cRow + j] = a0 * b[b0 + j];
+                k++;
+            }
+        }
+        for (; k + 3 < kEnd; k += 4) {
+            float a0 = a[aRow + k], a1 = a[aRow + k + 1], a2 = a[aRow + k + 2], a3 = a[aRow + k + 3];
+            int b0 = k * bStride, b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+            for (int j = jj; j < jEnd; j++)
+                c[cRow + j] += a0 * b[b0 + j] + a1 * b[b1 + j] + a2 * b[b2 + j] + a3 * b[b3 + j];
+        }
+        for (; k < kEnd; k++) {
+            float a0 = a[aRow + k];
+            int b0 = k * bStride;
+            for (int j = jj; j < jEnd; j++)
+                c[cRow + j] += a0 * b[b0 + j];
+        }
+    }
+
+    /**
+     * То же, что {@link #mulRow}, но множители берутся из столбца {@code aColumn} матрицы {@code a}
+     * с шагом {@code aStride}
+     */
+    private static void tMulRow(float[] a, int aColumn, int aStride, float[] b, int bStride, float[] c, int cRow,
+                                int kk, int kEnd, int jj, int jEnd, boolean assign) {
+        int k = kk;
+        if (assign) {
+            if (k + 3 < kEnd) {
+                float a0 = a[k * aStride + aColumn], a1 = a[(k + 1) * aStride + aColumn],
+                        a2 = a[(k + 2) * aStride + aColumn], a3 = a[(k + 3) * aStride + aColumn];
+                int b0 = k * bStride, b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+                for (int j = jj; j < jEnd; j++)
+                    c[cRow + j] = a0 * b[b0 + j] + a1 * b[b1 + j] + a2 * b[b2 + j] + a3 * b[b3 + j];
+                k += 4;
+            } else {
+                float a0 = a[k * aStride + aColumn];
+                int b0 = k * bStride;
+                for (int j = jj; j < jEnd; j++)
+                    c[cRow + j] = a0 * b[b0 + j];
+                k++;
+            }
+        }
+        for (; k + 3 < kEnd; k += 4) {
+            float a0 = a[k * aStride + aColumn], a1 = a[(k + 1) * aStride + aColumn],
+                    a2 = a[(k + 2) * aStride + aColumn], a3 = a[(k + 3) * aStride + aColumn];
+            int b0 = k * bStride, b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+            for (int j = jj; j < jEnd; j++)
+                c[cRow + j] += a0 * b[b0 + j] + a1 * b[b1 + j] + a2 * b[b2 + j] + a3 * b[b3 + j];
+        }
+        for (; k < kEnd; k++) {
+            float a0 = a[k * aStride + aColumn];
+            int b0 = k * bStride;
+            for (int j = jj; j < jEnd; j++)
+                c[cRow + j] += a0 * b[b0 + j];
+        }
+    }
+
+    /**
+     * Вычисляет скалярные произведения отрезка {@code [kk..kEnd)} строки {@code a} на те же отрезки
+     * строк {@code b[jj..jEnd)} и добавляет их к элементам результата {@code c[jj..jEnd)}.
+     * Если {@code assign}, элементы результата перезаписываются.
+     */
+    private static void mulTRow(float[] a, int aRow, float[] b, int bStride, float[] c, int cRow,
+                                int kk, int kEnd, int jj, int jEnd, boolean assign) {
+        int j = jj;
+        for (; j + 3 < jEnd; j += 4) {
+            int b0 = j * bStride, b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+            float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+            for (int k = kk; k < kEnd; k++) {
+                float ak = a[aRow + k];
+                s0 += ak * b[b0 + k];
+                s1 += ak * b[b1 + k];
+                s2 += ak * b[b2 + k];
+                s3 += ak * b[b3 + k];
+            }
+            if (assign) {
+                c[cRow + j] = s0;
+                c[cRow + j + 1] = s1;
+                c[cRow + j + 2] = s2;
+                c[cRow + j + 3] = s3;
+            } else {
+                c[cRow + j] += s0;
+                c[cRow + j + 1] += s1;
+                c[cRow + j + 2] += s2;
+                c[cRow + j + 3] += s3;
+            }
+        }
+        for (; j < jEnd; j++) {
+            int b0 = j * bStride;
+            float s0 = 0f;
+            for (int k = kk; k < kEnd; k++)
+                s0 += a[aRow + k] * b[b0 + k];
+            c[cRow + j] = assign ? s0 : c[cRow + j] + s0;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.synapse.core.matrix;
 
 import java.io.Externalizable;
+import java.nio.DoubleBuffer;
 import java.util.function.DoubleFunction;
 import java.util.function.DoubleSupplier;
 
@@ -85,6 +86,16 @@ public interface Matrix extends Cloneable, Iterable<Double>, Externalizable {
      */
     Matrix createInstance(int rows, int columns, double... data);
 
+    /**
+     * Создает новую пустую матрицу того же класса с заданным количеством строк и столбцов
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     */
+    default Matrix createInstance(int rows, int columns) {
+        return createInstance(rows, columns, new double[rows * columns]);
+    }
+
     /**
      * Возвращает количество строк матрицы
      *
@@ -147,6 +158,35 @@ public interface Matrix extends Cloneable, Iterable<Double>, Externalizable {
      */
     double[] getArray();
 
+    /**
+     * Возвращает массив, в котором матрица построчно хранит свои данные.
+     * В отличие от {@link #getArray()} никогда не создает копию: изменения массива меняют матрицу.
+     * Используется MatrixUtils для вычислений напрямую над массивами, без поэлементных вызовов getItem/setItem
+     *
+     * @return Массив данных матрицы или null, если матрица хранит данные не в массиве
+     */
+    default double[] getBackingArray() {
+        return null;
+    }
+
+    /**
+     * Возвращает массив, в котором матрица одинарной точности построчно хранит свои данные, без копирования
+     *
+     * @return Массив данных матрицы или null, если матрица хранит данные не в массиве float
+     */
+    default float[] getBackingFloatArray() {
+        return null;
+    }
+
+    /**
+     * Возвращает буфер вне кучи, в котором матрица построчно хранит свои данные, без копирования
+     *
+     * @return Буфер данных матрицы или null, если матрица хранит данные не в буфере
+     */
+    default DoubleBuffer getBackingBuffer() {
+        return null;
+    }
+
     /**
      * Производит поэлементное сложение матриц.
      *
@@ -0,0 +1,165 @@
+package com.synapse.core.matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Область памяти для временных матриц: матрицы выделяются последовательно и переиспользуются
+ * после {@link #reset()} в том же порядке.
+ * <p>
+ * Если образец является {@link MatrixOffHeap}, матрицы вырезаются из общих блоков памяти вне кучи,
+ * выделенных одним вызовом на блок, и начало каждой матрицы выровнено по {@link MatrixOffHeap#ALIGNMENT}.
+ * Матрицы остальных классов создаются образцом по отдельности, но так же переиспользуются.
+ * <p>
+ * После {@code reset()} запрос матрицы той же размерности, что и при предыдущем проходе, возвращает ту же
+ * обнуленную матрицу. Запрос другой размерности означает, что порядок выделения изменился: область отбрасывает
+ * эту и все следующие матрицы прежнего прохода, освобождает блоки, выделенные после начала отброшенной матрицы,
+ * и выделяет новые матрицы на ее месте. Поэтому память области не превышает памяти самого большого прохода,
+ * как бы ни менялись размерности запросов между проходами.
+ * Область не потокобезопасна
+ */
+public class MatrixArena implements AutoCloseable {
+
+    /**
+     * Наименьший размер блока памяти вне кучи, элементов
+     */
+    static final int BLOCK_SIZE = 1 << 20;
+
+    private static final int ALIGNMENT_ITEMS = MatrixOffHeap.ALIGNMENT / Double.BYTES;
+
+    private final Matrix prototype;
+    private final List<Matrix> matrices = new ArrayList<>();
+    /**
+     * Для каждой матрицы вне кучи — номер блока и смещение ее начала в блоке, см. {@link #position}
+     */
+    private final List<Long> positions = new ArrayList<>();
+    private final List<MatrixOffHeap> blocks = new ArrayList<>();
+    private MatrixOffHeap block;
+    private int blockOffset;
+    private int next;
+    private long itemsNumber;
+
+    /**
+     * @param prototype Образец, класс которого имеют все матрицы области
+     */
+    public MatrixArena(Matrix prototype) {
+        this.prototype = prototype;
+    }
+
+    /**
+     * Выделяет матрицу заданной размерности
+     */
+    public Matrix allocate(int rows, int columns) {
+        if (next < matrices.size()) {
+            Matrix matrix = matrices.get(next);
+            if (matrix.getRowsNumber() == rows && matrix.getColumnsNumber() == columns) {
+                next++;
+                matrix.zeros();
+                return matrix;
+            }
+            truncate(next);
+        }
+        Matrix created = create(rows, columns);
+        matrices.add(created);
+        next++;
+        return created;
+    }
+
+    /**
+     * Выделяет матрицы одинаковой размерности
+     */
+    public Matrix[] allocate(int count, int rows, int columns) {
+        Matrix[] result = new Matrix[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = allocate(rows, columns);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает все выделенные матрицы в область: следующие запросы получат их заново в том же порядке
+     */
+    public void reset() {
+        next = 0;
+    }
+
+    /**
+     * Проверяет, что область создает матрицы того же класса, что и образец
+     */
+    public boolean fits(Matrix prototype) {
+        return this.prototype.getClass() == prototype.getClass();
+    }
+
+    /**
+     * Возвращает суммарное количество элементов выделенных матриц
+     */
+    public long getItemsNumber() {
+        return itemsNumber;
+    }
+
+    /**
+     * Освобождает память области вне кучи. После закрытия матрицами области нельзя пользоваться
+     */
+    @Override
+    public void close() {
+        for (Matrix matrix : matrices) {
+            MatrixUtils.release(matrix);
+        }
+        for (MatrixOffHeap memory : blocks) {
+            memory.close();
+        }
+        matrices.clear();
+        positions.clear();
+        blocks.clear();
+        block = null;
+        next = 0;
+        itemsNumber = 0;
+    }
+
+    private Matrix create(int rows, int columns) {
+        int length = rows * columns;
+        itemsNumber += length;
+        if (!(prototype instanceof MatrixOffHeap)) {
+            return prototype.createInstance(rows, columns);
+        }
+
+        int aligned = (length + ALIGNMENT_ITEMS - 1) / ALIGNMENT_ITEMS * ALIGNMENT_ITEMS;
+        if (block == null || blockOffset + aligned > block.getItemsNumber()) {
+            block = new MatrixOffHeap(1, Math.max(BLOCK_SIZE, aligned));
+            blocks.add(block);
+            blockOffset = 0;
+        }
+        Matrix view = new MatrixOffHeap(block, blockOffset, rows, columns);
+        positions.add(position(blocks.size() - 1, blockOffset));
+        blockOffset += aligned;
+        return view;
+    }
+
+    /**
+     * Отбрасывает матрицы, начиная с {@code from}, и освобождает блоки, выделенные после начала первой из них.
+     * Следующая матрица выделяется с места отброшенной
+     */
+    private void truncate(int from) {
+        List<Matrix> dropped = matrices.subList(from, matrices.size());
+        for (Matrix matrix : dropped) {
+            itemsNumber -= (long) matrix.getRowsNumber() * matrix.getColumnsNumber();
+        }
+        dropped.clear();
+        if (!(prototype instanceof MatrixOffHeap)) return;
+
+        long position = positions.get(from);
+        positions.subList(from, positions.size()).clear();
+        int blockIndex = (int) (position >>> 32);
+        List<MatrixOffHeap> freed = blocks.subList(blockIndex + 1, blocks.size());
+        for (MatrixOffHeap memory : freed) {
+            memory.close();
+        }
+        freed.clear();
+        block = blocks.get(blockIndex);
+        blockOffset = (int) position;
+    }
+
+    private static long position(int blockIndex, int offset) {
+        return (long) blockIndex << 32 | offset;
+    }
+}
@@ -73,6 +73,11 @@ public class MatrixEJML implements Matrix {
         return simpleMatrix.getDDRM().getData();
     }
 
+    @Override
+    public double[] getBackingArray() {
+        return simpleMatrix.getDDRM().getData();
+    }
+
     @Override
     public Matrix add(Matrix m) {
         MatrixEJML matr = (MatrixEJML) m;
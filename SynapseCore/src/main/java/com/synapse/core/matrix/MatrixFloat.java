@@ -0,0 +1,395 @@
+package com.synapse.core.matrix;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Матрица одинарной точности: данные хранятся построчно в массиве float.
+ * <p>
+ * Занимает вдвое меньше памяти, чем {@link MatrixJava}, и вдвое сокращает объем данных, читаемых
+ * вычислительными ядрами. Значения double, передаваемые в матрицу, округляются до float.
+ * Выбирается через {@code MatrixSettings.setMatrixClass(new MatrixFloat())} или точностью сети
+ * {@code NetParameters.setPrecision(Precision.FLOAT)}
+ */
+@EqualsAndHashCode
+@NoArgsConstructor
+public class MatrixFloat implements Matrix {
+
+    @Serial
+    private static final long serialVersionUID = -1350406126866151826L;
+    /**
+     * Массив данных матрицы
+     */
+    private float[] array;
+
+    /**
+     * Количество строк матрицы
+     */
+    private int rowLength;
+
+    /**
+     * Количество столбцов матрицы
+     */
+    private int columnLength;
+
+    /**
+     * Создает новую пустую матрицу с заданным количеством строк и столбцов
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @throws IllegalArgumentException если количество строк и/или столбцов не натуральное число
+     */
+    public MatrixFloat(int rows, int columns) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Количество строк матрицы должно было быть натуральным числом, а было " + rows);
+        }
+        if (columns <= 0) {
+            throw new IllegalArgumentException("Количество столбцов матрицы должно было быть натуральным числом, а было " + columns);
+        }
+
+        rowLength = rows;
+        columnLength = columns;
+        array = new float[rows * columns];
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов с данными из массива float без копирования
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @param matrix  Данные матрицы
+     * @throws IllegalArgumentException если количество ячеек матрицы не совпадает с количеством элементов массива
+     */
+    public MatrixFloat(int rows, int columns, float... matrix) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Количество строк матрицы должно было быть натуральным числом, а было " + rows);
+        }
+        if (columns <= 0) {
+            throw new IllegalArgumentException("Количество столбцов матрицы должно было быть натуральным числом, а было " + columns);
+        }
+        if (rows * columns != matrix.length)
+            throw new IllegalArgumentException(
+                    "Количество ячеек матрицы (%d*%d=%d) не совпадает с количеством элементов массива (%d)"
+                            .formatted(rows, columns, rows * columns, matrix.length));
+
+        rowLength = rows;
+        columnLength = columns;
+        array = matrix;
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов, округляя данные массива до float
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @param matrix  Данные матрицы
+     * @throws IllegalArgumentException если количество ячеек матрицы не совпадает с количеством элементов массива
+     */
+    public MatrixFloat(int rows, int columns, double... matrix) {
+        this(rows, columns, toFloats(matrix));
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов, заполняя ее данными инициализатора
+     *
+     * @param rows        Количество строк матрицы
+     * @param columns     Количество столбцов матрицы
+     * @param initializer Функция, поставляющая данные для матрицы
+     */
+    public MatrixFloat(int rows, int columns, DoubleSupplier initializer) {
+        this(rows, columns);
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (float) initializer.getAsDouble();
+        }
+    }
+
+    private static float[] toFloats(double[] data) {
+        float[] result = new float[data.length];
+        for (int i = 0; i < data.length; i++)
+            result[i] = (float) data[i];
+        return result;
+    }
+
+    /**
+     * Возвращает данные матрицы как массив float: без копирования для матриц одинарной точности,
+     * с преобразованием для остальных
+     */
+    private static float[] floats(Matrix m) {
+        float[] data = m.getBackingFloatArray();
+        return data != null ? data : toFloats(m.getArray());
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns, double... matrix) {
+        return new MatrixFloat(rows, columns, matrix);
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns) {
+        return new MatrixFloat(rows, columns);
+    }
+
+    @Override
+    public int getRowsNumber() {
+        return rowLength;
+    }
+
+    @Override
+    public int getColumnsNumber() {
+        return columnLength;
+    }
+
+    @Override
+    public int getItemsNumber() {
+        return array.length;
+    }
+
+    /**
+     * Находит элемент матрицы по заданным координатам
+     *
+     * @param row    Строка, в которой искать элемент
+     * @param column Столбец, в которой искать элемент
+     * @return Элемент матрицы, находящийся в заданных строке и столбце
+     * @throws IllegalArgumentException если значение строки и/или столбца выходит за допустимые границы
+     */
+    @Override
+    public double getItem(int row, int column) {
+        if (row < 0 || row >= rowLength) {
+            throw new IllegalArgumentException(
+                    "Значение строки должно было быть числом в диапазоне [0, %d], а было %d".formatted(rowLength - 1, row));
+        }
+        if (column < 0 || column >= columnLength) {
+            throw new IllegalArgumentException(
+                    "Значение столбца должно было быть числом в диапазоне [0, %d], а было %d".formatted(columnLength - 1, column));
+        }
+        return array[columnLength * row + column];
+    }
+
+    @Override
+    public double getItem(int index) {
+        return array[index];
+    }
+
+    @Override
+    public void setItem(int row, int column, double value) {
+        array[row * columnLength + column] = (float) value;
+    }
+
+    @Override
+    public void setItem(int index, double value) {
+        array[index] = (float) value;
+    }
+
+    /**
+     * Приводит матрицу к одномерному массиву double. Массив составляется из матрицы построчно
+     *
+     * @return Копия данных матрицы в формате одномерного массива
+     */
+    @Override
+    public double[] getArray() {
+        double[] result = new double[array.length];
+        for (int i = 0; i < array.length; i++)
+            result[i] = array[i];
+        return result;
+    }
+
+    @Override
+    public float[] getBackingFloatArray() {
+        return array;
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        rowsMismatch(this, m);
+        columnsMismatch(this, m);
+
+        float[] result = new float[array.length];
+        FloatKernels.add(array, floats(m), result, array.length);
+        return new MatrixFloat(rowLength, columnLength, result);
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        rowsMismatch(this, m);
+        columnsMismatch(this, m);
+
+        float[] result = new float[array.length];
+        FloatKernels.sub(array, floats(m), result, array.length);
+        return new MatrixFloat(rowLength, columnLength, result);
+    }
+
+    @Override
+    public Matrix prod(Matrix m) {
+        rowsMismatch(this, m);
+        columnsMismatch(this, m);
+
+        float[] result = new float[array.length];
+        FloatKernels.prod(array, floats(m), result, array.length);
+        return new MatrixFloat(rowLength, columnLength, result);
+    }
+
+    @Override
+    public Matrix mul(Matrix m) {
+        rowsColumnsMismatch(this, m);
+
+        float[] result = new float[rowLength * m.getColumnsNumber()];
+        FloatKernels.mul(array, floats(m), result, rowLength, columnLength, m.getColumnsNumber());
+        return new MatrixFloat(rowLength, m.getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix tMul(Matrix m) {
+        rowsMismatch(this, m);
+
+        float[] result = new float[columnLength * m.getColumnsNumber()];
+        FloatKernels.tMul(array, floats(m), result, columnLength, rowLength, m.getColumnsNumber());
+        return new MatrixFloat(columnLength, m.getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix mulT(Matrix m) {
+        columnsMismatch(this, m);
+
+        float[] result = new float[rowLength * m.getRowsNumber()];
+        FloatKernels.mulT(array, floats(m), result, rowLength, columnLength, m.getRowsNumber());
+        return new MatrixFloat(rowLength, m.getRowsNumber(), result);
+    }
+
+    @Override
+    public Matrix Trans() {
+        float[] result = new float[array.length];
+        FloatKernels.trans(array, result, rowLength, columnLength);
+        return new MatrixFloat(columnLength, rowLength, result);
+    }
+
+    @Override
+    public Matrix scale(double scalar) {
+        float[] result = new float[array.length];
+        FloatKernels.scale(array, (float) scalar, result, array.length);
+        return new MatrixFloat(rowLength, columnLength, result);
+    }
+
+    @Override
+    public Matrix scaleAdd(double scale, Matrix matrix) {
+        rowsMismatch(this, matrix);
+        columnsMismatch(this, matrix);
+
+        float[] result = new float[array.length];
+        FloatKernels.scaleAdd(array, floats(matrix), (float) scale, result, array.length);
+        return new MatrixFloat(rowLength, columnLength, result);
+    }
+
+    @Override
+    public Matrix apply(DoubleFunction<Double> function) {
+        float[] result = new float[array.length];
+        FloatKernels.apply(array, function, result, array.length);
+        return new MatrixFloat(rowLength, columnLength, result);
+    }
+
+    @Override
+    public Matrix normalize() {
+        return scale(1 / norm2());
+    }
+
+    @Override
+    public double norm2() {
+        return Math.sqrt(sqrsSum());
+    }
+
+    /**
+     * Вычисляет сумму элементов матрицы. Сумма накапливается в double
+     *
+     * @return Сумма элементов матрицы
+     */
+    @Override
+    public double sum() {
+        double sum = 0.0;
+        for (float item : array) sum += item;
+        return sum;
+    }
+
+    /**
+     * Вычисляет сумму квадратов элементов матрицы. Сумма накапливается в double
+     *
+     * @return Сумма квадратов элементов матрицы
+     */
+    @Override
+    public double sqrsSum() {
+        double sum = 0.0;
+        for (float item : array) sum += (double) item * item;
+        return sum;
+    }
+
+    @Override
+    public double average() {
+        return sum() / array.length;
+    }
+
+    @Override
+    public void zeros() {
+        Arrays.fill(array, 0f);
+    }
+
+    /**
+     * Создает копию матрицы
+     *
+     * @return Независимая копия матрицы
+     */
+    @Override
+    public MatrixFloat clone() {
+        return new MatrixFloat(rowLength, columnLength, Arrays.copyOf(array, array.length));
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < array.length;
+            }
+
+            @Override
+            public Double next() {
+                if (index >= array.length) throw new NoSuchElementException();
+                return (double) array[index++];
+            }
+        };
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(rowLength);
+        out.writeInt(columnLength);
+        for (float v : array) {
+            out.writeFloat(v);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        rowLength = in.readInt();
+        columnLength = in.readInt();
+        array = new float[rowLength * columnLength];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = in.readFloat();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MatrixUtils.toString(this);
+    }
+}
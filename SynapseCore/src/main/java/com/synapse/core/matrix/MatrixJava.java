@@ -152,6 +152,11 @@ public class MatrixJava implements Matrix {
         return array;
     }
 
+    @Override
+    public double[] getBackingArray() {
+        return array;
+    }
+
     /**
      * Производит поэлементное сложение матриц.
      *
@@ -220,13 +225,7 @@ public class MatrixJava implements Matrix {
         rowsColumnsMismatch(this, m);
 
         double[] result = new double[rowLength * m.getColumnsNumber()];
-        for (int i = 0; i < rowLength; i++) {
-            for (int j = 0; j < m.getColumnsNumber(); j++) {
-                for (int k = 0; k < columnLength; k++) {
-                    result[i * m.getColumnsNumber() + j] += array[i * columnLength + k] * m.getArray()[k * m.getColumnsNumber() + j];
-                }
-            }
-        }
+        MatrixKernels.mul(array, m.getArray(), result, rowLength, columnLength, m.getColumnsNumber());
 
         return new MatrixJava(rowLength, m.getColumnsNumber(), result);
     }
@@ -235,14 +234,7 @@ public class MatrixJava implements Matrix {
         rowsMismatch(this, m);
 
         double[] result = new double[columnLength * m.getColumnsNumber()];
-
-        for (int i = 0; i < columnLength; i++)
-            for (int j = 0; j < m.getColumnsNumber(); j++)
-                for (int k = 0; k < rowLength; k++) {
-                    double a = array[k * columnLength + i];
-                    double b = m.getArray()[k * m.getColumnsNumber() + j];
-                    result[i * m.getColumnsNumber() + j] += a * b;
-                }
+        MatrixKernels.tMul(array, m.getArray(), result, columnLength, rowLength, m.getColumnsNumber());
 
         return new MatrixJava(columnLength, m.getColumnsNumber(), result);
     }
@@ -251,14 +243,7 @@ public class MatrixJava implements Matrix {
         columnsMismatch(this, m);
 
         double[] result = new double[rowLength * m.getRowsNumber()];
-
-        for (int i = 0; i < rowLength; i++)
-            for (int j = 0; j < m.getRowsNumber(); j++)
-                for (int k = 0; k < columnLength; k++) {
-                    double a = array[i * columnLength + k];
-                    double b = m.getArray()[j * m.getColumnsNumber() + k];
-                    result[i * m.getRowsNumber() + j] += a * b;
-                }
+        MatrixKernels.mulT(array, m.getArray(), result, rowLength, columnLength, m.getRowsNumber());
 
         return new MatrixJava(rowLength, m.getRowsNumber(), result);
     }
@@ -0,0 +1,434 @@
+package com.synapse.core.matrix;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Матрица, данные которой хранятся построчно вне кучи Java, в прямом буфере ({@link ByteBuffer#allocateDirect}).
+ * <p>
+ * Данные матрицы не просматриваются и не копируются сборщиком мусора, а начало данных выровнено по 64 байтам
+ * (строке кэша и ширине регистра AVX-512). Память освобождается явно методом {@link #close()}
+ * (например, через {@link MatrixUtils#release(Matrix...)}), после чего обращение к матрице приводит
+ * к {@link IllegalStateException}. Незакрытая матрица освобождается сборщиком мусора вместе с буфером.
+ * Выбирается через {@code MatrixSettings.setMatrixClass(new MatrixOffHeap())}
+ */
+@Slf4j
+@NoArgsConstructor
+public class MatrixOffHeap implements Matrix, AutoCloseable {
+
+    @Serial
+    private static final long serialVersionUID = -3197845210457716380L;
+
+    /**
+     * Выравнивание начала данных в байтах
+     */
+    public static final int ALIGNMENT = 64;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Explicit release of direct buffers is unavailable, memory is freed by GC: {}", e.toString());
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Выделенный буфер, по которому освобождается память
+     */
+    private ByteBuffer memory;
+
+    /**
+     * Выровненное представление данных матрицы
+     */
+    private DoubleBuffer buffer;
+
+    /**
+     * Количество строк матрицы
+     */
+    private int rowLength;
+
+    /**
+     * Количество столбцов матрицы
+     */
+    private int columnLength;
+
+    /**
+     * Создает новую пустую матрицу с заданным количеством строк и столбцов
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @throws IllegalArgumentException если количество строк и/или столбцов не натуральное число
+     */
+    public MatrixOffHeap(int rows, int columns) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Количество строк матрицы должно было быть натуральным числом, а было " + rows);
+        }
+        if (columns <= 0) {
+            throw new IllegalArgumentException("Количество столбцов матрицы должно было быть натуральным числом, а было " + columns);
+        }
+
+        rowLength = rows;
+        columnLength = columns;
+        allocate(rows * columns);
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов, копируя данные из массива
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @param matrix  Данные матрицы
+     * @throws IllegalArgumentException если количество ячеек матрицы не совпадает с количеством элементов массива
+     */
+    public MatrixOffHeap(int rows, int columns, double... matrix) {
+        this(rows, columns);
+        if (rows * columns != matrix.length)
+            throw new IllegalArgumentException(
+                    "Количество ячеек матрицы (%d*%d=%d) не совпадает с количеством элементов массива (%d)"
+                            .formatted(rows, columns, rows * columns, matrix.length));
+        buffer.put(0, matrix);
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов, заполняя ее данными инициализатора
+     *
+     * @param rows        Количество строк матрицы
+     * @param columns     Количество столбцов матрицы
+     * @param initializer Функция, поставляющая данные для матрицы
+     */
+    public MatrixOffHeap(int rows, int columns, DoubleSupplier initializer) {
+        this(rows, columns);
+
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put(i, initializer.getAsDouble());
+        }
+    }
+
+    /**
+     * Создает представление части памяти другой матрицы вне кучи. Представление не владеет памятью:
+     * его закрытие не освобождает память, она освобождается закрытием исходной матрицы
+     *
+     * @param memory Матрица, в памяти которой размещается представление
+     * @param offset Индекс первого элемента представления в данных матрицы {@code memory}
+     */
+    MatrixOffHeap(MatrixOffHeap memory, int offset, int rows, int columns) {
+        rowLength = rows;
+        columnLength = columns;
+        buffer = memory.buffer().slice(offset, rows * columns);
+    }
+
+    private void allocate(int length) {
+        // alignedSlice сдвигает начало вверх и конец вниз до кратного ALIGNMENT, поэтому нужен запас с обеих сторон
+        int bytes = (length * Double.BYTES + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+        memory = ByteBuffer.allocateDirect(bytes + ALIGNMENT - 1);
+        buffer = memory.alignedSlice(ALIGNMENT)
+                .order(ByteOrder.nativeOrder())
+                .asDoubleBuffer()
+                .limit(length)
+                .slice();
+    }
+
+    private DoubleBuffer buffer() {
+        if (buffer == null)
+            throw new IllegalStateException("Память матрицы уже освобождена");
+        return buffer;
+    }
+
+    /**
+     * Освобождает память матрицы. Повторный вызов ничего не делает. Для представления части памяти
+     * другой матрицы только запрещает дальнейшее обращение к ней
+     */
+    @Override
+    public void close() {
+        ByteBuffer released = memory;
+        memory = null;
+        buffer = null;
+        if (released != null && INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, released);
+            } catch (ReflectiveOperationException e) {
+                log.debug("Failed to release direct buffer, memory is left to GC: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Проверяет, освобождена ли память матрицы
+     */
+    public boolean isClosed() {
+        return buffer == null;
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns, double... matrix) {
+        return new MatrixOffHeap(rows, columns, matrix);
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns) {
+        return new MatrixOffHeap(rows, columns);
+    }
+
+    @Override
+    public int getRowsNumber() {
+        return rowLength;
+    }
+
+    @Override
+    public int getColumnsNumber() {
+        return columnLength;
+    }
+
+    /**
+     * Находит элемент матрицы по заданным координатам
+     *
+     * @param row    Строка, в которой искать элемент
+     * @param column Столбец, в которой искать элемент
+     * @return Элемент матрицы, находящийся в заданных строке и столбце
+     * @throws IllegalArgumentException если значение строки и/или столбца выходит за допустимые границы
+     */
+    @Override
+    public double getItem(int row, int column) {
+        if (row < 0 || row >= rowLength) {
+            throw new IllegalArgumentException(
+                    "Значение строки должно было быть числом в диапазоне [0, %d], а было %d".formatted(rowLength - 1, row));
+        }
+        if (column < 0 || column >= columnLength) {
+            throw new IllegalArgumentException(
+                    "Значение столбца должно было быть числом в диапазоне [0, %d], а было %d".formatted(columnLength - 1, column));
+        }
+        return buffer().get(columnLength * row + column);
+    }
+
+    @Override
+    public double getItem(int index) {
+        return buffer().get(index);
+    }
+
+    @Override
+    public void setItem(int row, int column, double value) {
+        buffer().put(row * columnLength + column, value);
+    }
+
+    @Override
+    public void setItem(int index, double value) {
+        buffer().put(index, value);
+    }
+
+    /**
+     * Копирует данные матрицы в одномерный массив. Массив составляется из матрицы построчно
+     *
+     * @return Копия данных матрицы в куче
+     */
+    @Override
+    public double[] getArray() {
+        double[] result = new double[getItemsNumber()];
+        buffer().get(0, result);
+        return result;
+    }
+
+    @Override
+    public DoubleBuffer getBackingBuffer() {
+        return buffer();
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        Matrix result = new MatrixOffHeap(rowLength, columnLength);
+        MatrixUtils.add(this, m, result);
+        return result;
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        Matrix result = new MatrixOffHeap(rowLength, columnLength);
+        MatrixUtils.sub(this, m, result);
+        return result;
+    }
+
+    @Override
+    public Matrix prod(Matrix m) {
+        Matrix result = new MatrixOffHeap(rowLength, columnLength);
+        MatrixUtils.prod(this, m, result);
+        return result;
+    }
+
+    @Override
+    public Matrix mul(Matrix m) {
+        Matrix result = new MatrixOffHeap(rowLength, m.getColumnsNumber());
+        MatrixUtils.mul(this, m, result);
+        return result;
+    }
+
+    @Override
+    public Matrix tMul(Matrix m) {
+        Matrix result = new MatrixOffHeap(columnLength, m.getColumnsNumber());
+        MatrixUtils.tMul(this, m, result);
+        return result;
+    }
+
+    @Override
+    public Matrix mulT(Matrix m) {
+        Matrix result = new MatrixOffHeap(rowLength, m.getRowsNumber());
+        MatrixUtils.mulT(this, m, result);
+        return result;
+    }
+
+    @Override
+    public Matrix Trans() {
+        Matrix result = new MatrixOffHeap(columnLength, rowLength);
+        MatrixUtils.trans(this, result);
+        return result;
+    }
+
+    @Override
+    public Matrix scale(double scalar) {
+        Matrix result = new MatrixOffHeap(rowLength, columnLength);
+        MatrixUtils.scale(this, scalar, result);
+        return result;
+    }
+
+    @Override
+    public Matrix scaleAdd(double scale, Matrix matrix) {
+        Matrix result = new MatrixOffHeap(rowLength, columnLength);
+        MatrixUtils.scaleAdd(this, matrix, scale, result);
+        return result;
+    }
+
+    @Override
+    public Matrix apply(DoubleFunction<Double> function) {
+        Matrix result = new MatrixOffHeap(rowLength, columnLength);
+        MatrixUtils.apply(this, function, result);
+        return result;
+    }
+
+    @Override
+    public Matrix normalize() {
+        return scale(1 / norm2());
+    }
+
+    @Override
+    public double norm2() {
+        return Math.sqrt(sqrsSum());
+    }
+
+    @Override
+    public double sum() {
+        DoubleBuffer data = buffer();
+        double sum = 0.0;
+        for (int i = 0; i < data.capacity(); i++) sum += data.get(i);
+        return sum;
+    }
+
+    @Override
+    public double sqrsSum() {
+        DoubleBuffer data = buffer();
+        double sum = 0.0;
+        for (int i = 0; i < data.capacity(); i++) sum += data.get(i) * data.get(i);
+        return sum;
+    }
+
+    @Override
+    public double average() {
+        return sum() / getItemsNumber();
+    }
+
+    @Override
+    public void zeros() {
+        DoubleBuffer data = buffer();
+        for (int i = 0; i < data.capacity(); i++) data.put(i, 0.0);
+    }
+
+    /**
+     * Создает копию матрицы в новой памяти вне кучи
+     *
+     * @return Независимая копия матрицы
+     */
+    @Override
+    public MatrixOffHeap clone() {
+        MatrixOffHeap clone = new MatrixOffHeap(rowLength, columnLength);
+        clone.buffer.put(0, buffer(), 0, getItemsNumber());
+        return clone;
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+        DoubleBuffer data = buffer();
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < data.capacity();
+            }
+
+            @Override
+            public Double next() {
+                if (index >= data.capacity()) throw new NoSuchElementException();
+                return data.get(index++);
+            }
+        };
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        DoubleBuffer data = buffer();
+        out.writeInt(rowLength);
+        out.writeInt(columnLength);
+        for (int i = 0; i < data.capacity(); i++) {
+            out.writeDouble(data.get(i));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        rowLength = in.readInt();
+        columnLength = in.readInt();
+        allocate(rowLength * columnLength);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put(i, in.readDouble());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MatrixOffHeap other)) return false;
+        return rowLength == other.rowLength && columnLength == other.columnLength && buffer().equals(other.buffer());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rowLength + columnLength) + buffer().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return MatrixUtils.toString(this);
+    }
+}
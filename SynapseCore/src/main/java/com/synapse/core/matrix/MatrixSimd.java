@@ -0,0 +1,178 @@
+package com.synapse.core.matrix;
+
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+
+/**
+ * Матрица, вычисления над которой выполняются на SIMD-регистрах процессора (jdk.incubator.vector).
+ * <p>
+ * Данные хранятся так же, как в {@link MatrixJava}. Векторные вычисления включаются, только если JVM
+ * запущена с модулем {@code --add-modules jdk.incubator.vector}, иначе все операции выполняются
+ * скалярным кодом MatrixJava. Выбирается через {@code MatrixSettings.setMatrixClass(new MatrixSimd())}.
+ */
+@NoArgsConstructor
+public class MatrixSimd extends MatrixJava {
+
+    @Serial
+    private static final long serialVersionUID = -2630962498218866377L;
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Создает новую пустую матрицу с заданным количеством строк и столбцов
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @throws IllegalArgumentException если количество строк и/или столбцов не натуральное число
+     */
+    public MatrixSimd(int rows, int columns) {
+        super(rows, columns);
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов с данными из массива
+     *
+     * @param rows    Количество строк матрицы
+     * @param columns Количество столбцов матрицы
+     * @param matrix  Данные матрицы
+     * @throws IllegalArgumentException если количество ячеек матрицы не совпадает с количеством элементов массива
+     */
+    public MatrixSimd(int rows, int columns, double... matrix) {
+        super(rows, columns, matrix);
+    }
+
+    /**
+     * Проверяет, доступны ли векторные вычисления в текущей JVM
+     *
+     * @return true, если модуль jdk.incubator.vector подключен
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns, double... matrix) {
+        return new MatrixSimd(rows, columns, matrix);
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        if (!VECTORIZED) return wrap(super.add(m));
+        rowsMismatch(this, m);
+        columnsMismatch(this, m);
+
+        double[] result = new double[getItemsNumber()];
+        VectorKernels.add(getArray(), m.getArray(), result, result.length);
+        return new MatrixSimd(getRowsNumber(), getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        if (!VECTORIZED) return wrap(super.sub(m));
+        rowsMismatch(this, m);
+        columnsMismatch(this, m);
+
+        double[] result = new double[getItemsNumber()];
+        VectorKernels.sub(getArray(), m.getArray(), result, result.length);
+        return new MatrixSimd(getRowsNumber(), getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix prod(Matrix m) {
+        if (!VECTORIZED) return wrap(super.prod(m));
+        rowsMismatch(this, m);
+        columnsMismatch(this, m);
+
+        double[] result = new double[getItemsNumber()];
+        VectorKernels.prod(getArray(), m.getArray(), result, result.length);
+        return new MatrixSimd(getRowsNumber(), getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix mul(Matrix m) {
+        if (!VECTORIZED) return wrap(super.mul(m));
+        rowsColumnsMismatch(this, m);
+
+        double[] result = new double[getRowsNumber() * m.getColumnsNumber()];
+        VectorKernels.mul(getArray(), m.getArray(), result, getRowsNumber(), getColumnsNumber(), m.getColumnsNumber());
+        return new MatrixSimd(getRowsNumber(), m.getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix tMul(Matrix m) {
+        if (!VECTORIZED) return wrap(super.tMul(m));
+        rowsMismatch(this, m);
+
+        double[] result = new double[getColumnsNumber() * m.getColumnsNumber()];
+        VectorKernels.tMul(getArray(), m.getArray(), result, getColumnsNumber(), getRowsNumber(), m.getColumnsNumber());
+        return new MatrixSimd(getColumnsNumber(), m.getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix mulT(Matrix m) {
+        if (!VECTORIZED) return wrap(super.mulT(m));
+        columnsMismatch(this, m);
+
+        double[] result = new double[getRowsNumber() * m.getRowsNumber()];
+        VectorKernels.mulT(getArray(), m.getArray(), result, getRowsNumber(), getColumnsNumber(), m.getRowsNumber());
+        return new MatrixSimd(getRowsNumber(), m.getRowsNumber(), result);
+    }
+
+    @Override
+    public Matrix Trans() {
+        return wrap(super.Trans());
+    }
+
+    @Override
+    public Matrix scale(double scalar) {
+        if (!VECTORIZED) return wrap(super.scale(scalar));
+
+        double[] result = new double[getItemsNumber()];
+        VectorKernels.scale(getArray(), scalar, result, result.length);
+        return new MatrixSimd(getRowsNumber(), getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix scaleAdd(double scale, Matrix matrix) {
+        if (!VECTORIZED) return wrap(super.scaleAdd(scale, matrix));
+        rowsMismatch(this, matrix);
+        columnsMismatch(this, matrix);
+
+        double[] result = new double[getItemsNumber()];
+        VectorKernels.scaleAdd(getArray(), matrix.getArray(), scale, result, result.length);
+        return new MatrixSimd(getRowsNumber(), getColumnsNumber(), result);
+    }
+
+    @Override
+    public Matrix apply(DoubleFunction<Double> function) {
+        return wrap(super.apply(function));
+    }
+
+    @Override
+    public double sum() {
+        if (!VECTORIZED) return super.sum();
+        return VectorKernels.sum(getArray(), getItemsNumber());
+    }
+
+    @Override
+    public double sqrsSum() {
+        if (!VECTORIZED) return super.sqrsSum();
+        return VectorKernels.sqrsSum(getArray(), getItemsNumber());
+    }
+
+    @Override
+    public MatrixSimd clone() {
+        double[] array = getArray();
+        return new MatrixSimd(getRowsNumber(), getColumnsNumber(), Arrays.copyOf(array, array.length));
+    }
+
+    /**
+     * Оборачивает результат скалярной операции MatrixJava в MatrixSimd без копирования данных
+     */
+    private static MatrixSimd wrap(Matrix matrix) {
+        return new MatrixSimd(matrix.getRowsNumber(), matrix.getColumnsNumber(), matrix.getArray());
+    }
+}
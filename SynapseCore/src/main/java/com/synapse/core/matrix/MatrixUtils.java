@@ -1,5 +1,7 @@
 package com.synapse.core.matrix;
 
+import com.synapse.core.activation.Activation;
+
 import java.util.function.DoubleFunction;
 
 /**
@@ -30,12 +32,61 @@ public class MatrixUtils {
         validateColumnsRowsMismatch(right, left);
     }
 
+    /**
+     * Проверяет, что все матрицы хранят данные в массивах ({@link Matrix#getBackingArray()}),
+     * и операцию можно вычислить ядром MatrixKernels напрямую над массивами
+     */
+    private static boolean isDense(Matrix a, Matrix b, Matrix c) {
+        return a.getBackingArray() != null && b.getBackingArray() != null && c.getBackingArray() != null;
+    }
+
+    /**
+     * Проверяет, что все матрицы одинарной точности хранят данные в массивах ({@link Matrix#getBackingFloatArray()}),
+     * и операцию можно вычислить ядром FloatKernels
+     */
+    private static boolean isFloat(Matrix a, Matrix b, Matrix c) {
+        return a.getBackingFloatArray() != null && b.getBackingFloatArray() != null && c.getBackingFloatArray() != null;
+    }
+
+    /**
+     * Проверяет, что все матрицы хранят данные в буферах вне кучи ({@link Matrix#getBackingBuffer()}),
+     * и операцию можно вычислить ядром BufferKernels
+     */
+    private static boolean isBuffered(Matrix a, Matrix b, Matrix c) {
+        return a.getBackingBuffer() != null && b.getBackingBuffer() != null && c.getBackingBuffer() != null;
+    }
+
+    /**
+     * Проверяет, что все матрицы являются MatrixSimd и JVM поддерживает векторные вычисления
+     */
+    private static boolean isVectorized(Matrix a, Matrix b, Matrix c) {
+        return MatrixSimd.isVectorized()
+                && a instanceof MatrixSimd && b instanceof MatrixSimd && c instanceof MatrixSimd;
+    }
+
     public static void add(Matrix a, Matrix b, Matrix c) {
         validateRowsMismatch(a, b);
         validateColumnsMismatch(a, b);
         validateRowsMismatch(a, c);
         validateColumnsMismatch(a, c);
 
+        if (isVectorized(a, b, c)) {
+            VectorKernels.add(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.add(a.getBackingFloatArray(), b.getBackingFloatArray(), c.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.add(a.getBackingBuffer(), b.getBackingBuffer(), c.getBackingBuffer(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.add(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+
         for (int i = 0; i < a.getItemsNumber(); i++)
             c.setItem(i, a.getItem(i) + b.getItem(i));
     }
@@ -46,6 +97,23 @@ public class MatrixUtils {
         validateRowsMismatch(a, c);
         validateColumnsMismatch(a, c);
 
+        if (isVectorized(a, b, c)) {
+            VectorKernels.sub(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.sub(a.getBackingFloatArray(), b.getBackingFloatArray(), c.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.sub(a.getBackingBuffer(), b.getBackingBuffer(), c.getBackingBuffer(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.sub(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+
         for (int i = 0; i < a.getItemsNumber(); i++)
             c.setItem(i, a.getItem(i) - b.getItem(i));
     }
@@ -56,6 +124,23 @@ public class MatrixUtils {
         validateRowsMismatch(a, c);
         validateColumnsMismatch(a, c);
 
+        if (isVectorized(a, b, c)) {
+            VectorKernels.prod(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.prod(a.getBackingFloatArray(), b.getBackingFloatArray(), c.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.prod(a.getBackingBuffer(), b.getBackingBuffer(), c.getBackingBuffer(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.prod(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+
         for (int i = 0; i < a.getItemsNumber(); i++)
             c.setItem(i, a.getItem(i) * b.getItem(i));
     }
@@ -69,6 +154,23 @@ public class MatrixUtils {
         int c1 = c.getColumnsNumber();
         int c2 = a.getColumnsNumber();
 
+        if (isVectorized(a, b, c)) {
+            VectorKernels.mul(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), r1, c2, c1);
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.mul(a.getBackingFloatArray(), b.getBackingFloatArray(), c.getBackingFloatArray(), r1, c2, c1);
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.mul(a.getBackingBuffer(), b.getBackingBuffer(), c.getBackingBuffer(), r1, c2, c1);
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.mul(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), r1, c2, c1);
+            return;
+        }
+
         for (int i = 0; i < r1; i++)
             for (int j = 0; j < c1; j++) {
                 double value = 0.0;
@@ -89,6 +191,23 @@ public class MatrixUtils {
         int c1 = c.getColumnsNumber();
         int c2 = a.getRowsNumber();
 
+        if (isVectorized(a, b, c)) {
+            VectorKernels.tMul(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), r1, c2, c1);
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.tMul(a.getBackingFloatArray(), b.getBackingFloatArray(), c.getBackingFloatArray(), r1, c2, c1);
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.tMul(a.getBackingBuffer(), b.getBackingBuffer(), c.getBackingBuffer(), r1, c2, c1);
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.tMul(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), r1, c2, c1);
+            return;
+        }
+
         for (int i = 0; i < r1; i++)
             for (int j = 0; j < c1; j++) {
                 double value = 0.0;
@@ -109,6 +228,23 @@ public class MatrixUtils {
         int c1 = c.getColumnsNumber();
         int c2 = a.getColumnsNumber();
 
+        if (isVectorized(a, b, c)) {
+            VectorKernels.mulT(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), r1, c2, c1);
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.mulT(a.getBackingFloatArray(), b.getBackingFloatArray(), c.getBackingFloatArray(), r1, c2, c1);
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.mulT(a.getBackingBuffer(), b.getBackingBuffer(), c.getBackingBuffer(), r1, c2, c1);
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.mulT(a.getBackingArray(), b.getBackingArray(), c.getBackingArray(), r1, c2, c1);
+            return;
+        }
+
         for (int i = 0; i < r1; i++)
             for (int j = 0; j < c1; j++) {
                 double value = 0.0;
@@ -121,8 +257,17 @@ public class MatrixUtils {
     }
 
     public static void trans(Matrix a, Matrix b) {
-        validateColumnsMismatch(a, b);
         validateColumnsRowsMismatch(a, b);
+        validateRowsColumnsMismatch(a, b);
+
+        if (isFloat(a, a, b)) {
+            FloatKernels.trans(a.getBackingFloatArray(), b.getBackingFloatArray(), a.getRowsNumber(), a.getColumnsNumber());
+            return;
+        }
+        if (isDense(a, a, b)) {
+            MatrixKernels.trans(a.getBackingArray(), b.getBackingArray(), a.getRowsNumber(), a.getColumnsNumber());
+            return;
+        }
 
         for (int i = 0; i < a.getRowsNumber(); i++)
             for (int j = 0; j < a.getColumnsNumber(); j++)
@@ -132,6 +277,22 @@ public class MatrixUtils {
     public static void scale(Matrix a, double scalar, Matrix b) {
         validateRowsMismatch(a, b);
         validateColumnsMismatch(a, b);
+        if (isVectorized(a, a, b)) {
+            VectorKernels.scale(a.getBackingArray(), scalar, b.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+        if (isFloat(a, a, b)) {
+            FloatKernels.scale(a.getBackingFloatArray(), (float) scalar, b.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, a, b)) {
+            BufferKernels.scale(a.getBackingBuffer(), scalar, b.getBackingBuffer(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, a, b)) {
+            MatrixKernels.scale(a.getBackingArray(), scalar, b.getBackingArray(), a.getItemsNumber());
+            return;
+        }
         for (int i = 0; i < a.getItemsNumber(); i++) {
             b.setItem(i, a.getItem(i) * scalar);
         }
@@ -140,6 +301,22 @@ public class MatrixUtils {
     public static void scaleAdd(Matrix a, Matrix b, double scalar, Matrix c) {
         validateRowsMismatch(a, b);
         validateColumnsMismatch(a, b);
+        if (isVectorized(a, b, c)) {
+            VectorKernels.scaleAdd(a.getBackingArray(), b.getBackingArray(), scalar, c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.scaleAdd(a.getBackingFloatArray(), b.getBackingFloatArray(), (float) scalar, c.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.scaleAdd(a.getBackingBuffer(), b.getBackingBuffer(), scalar, c.getBackingBuffer(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.scaleAdd(a.getBackingArray(), b.getBackingArray(), scalar, c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
         for (int i = 0; i < a.getItemsNumber(); i++) {
             c.setItem(i, a.getItem(i) + scalar * b.getItem(i));
         }
@@ -148,34 +325,384 @@ public class MatrixUtils {
     public static void scaleSub(Matrix a, Matrix b, double scalar, Matrix c) {
         validateRowsMismatch(a, b);
         validateColumnsMismatch(a, b);
+        if (isVectorized(a, b, c)) {
+            VectorKernels.scaleAdd(a.getBackingArray(), b.getBackingArray(), -scalar, c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
+        if (isFloat(a, b, c)) {
+            FloatKernels.scaleAdd(a.getBackingFloatArray(), b.getBackingFloatArray(), (float) -scalar, c.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, b, c)) {
+            BufferKernels.scaleAdd(a.getBackingBuffer(), b.getBackingBuffer(), -scalar, c.getBackingBuffer(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, b, c)) {
+            MatrixKernels.scaleAdd(a.getBackingArray(), b.getBackingArray(), -scalar, c.getBackingArray(), a.getItemsNumber());
+            return;
+        }
         for (int i = 0; i < a.getItemsNumber(); i++) {
             c.setItem(i, a.getItem(i) - scalar * b.getItem(i));
         }
     }
 
+    /**
+     * Корректирует матрицу параметров {@code w} по градиенту {@code g} шагом оптимизатора с моментом
+     * за один проход: {@code v = μv + g}, затем {@code w -= η(g + μv)} по Нестерову или {@code w -= ηv}
+     *
+     * @param v Накопитель скорости той же размерности, что и {@code w}
+     */
+    public static void momentumStep(Matrix w, Matrix g, Matrix v, double momentum, double rate, boolean nesterov) {
+        validateRowsMismatch(w, g);
+        validateColumnsMismatch(w, g);
+        validateRowsMismatch(w, v);
+        validateColumnsMismatch(w, v);
+        int length = w.getItemsNumber();
+        if (isFloat(w, g, v)) {
+            FloatKernels.momentum(w.getBackingFloatArray(), g.getBackingFloatArray(), v.getBackingFloatArray(),
+                    (float) momentum, (float) rate, nesterov, length);
+            return;
+        }
+        if (isBuffered(w, g, v)) {
+            BufferKernels.momentum(w.getBackingBuffer(), g.getBackingBuffer(), v.getBackingBuffer(), momentum, rate, nesterov, length);
+            return;
+        }
+        if (isDense(w, g, v)) {
+            MatrixKernels.momentum(w.getBackingArray(), g.getBackingArray(), v.getBackingArray(), momentum, rate, nesterov, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            double velocity = momentum * v.getItem(i) + g.getItem(i);
+            v.setItem(i, velocity);
+            w.setItem(i, w.getItem(i) - rate * (nesterov ? g.getItem(i) + momentum * velocity : velocity));
+        }
+    }
+
+    /**
+     * Корректирует матрицу параметров {@code w} по градиенту {@code g} шагом RMSProp за один проход:
+     * {@code s = ρs + (1-ρ)g²}, затем {@code w -= ηg / (√s + ε)}
+     *
+     * @param s Накопитель среднего квадрата градиента той же размерности, что и {@code w}
+     */
+    public static void rmsPropStep(Matrix w, Matrix g, Matrix s, double decay, double rate, double epsilon) {
+        validateRowsMismatch(w, g);
+        validateColumnsMismatch(w, g);
+        validateRowsMismatch(w, s);
+        validateColumnsMismatch(w, s);
+        int length = w.getItemsNumber();
+        if (isFloat(w, g, s)) {
+            FloatKernels.rmsProp(w.getBackingFloatArray(), g.getBackingFloatArray(), s.getBackingFloatArray(),
+                    (float) decay, (float) rate, (float) epsilon, length);
+            return;
+        }
+        if (isBuffered(w, g, s)) {
+            BufferKernels.rmsProp(w.getBackingBuffer(), g.getBackingBuffer(), s.getBackingBuffer(), decay, rate, epsilon, length);
+            return;
+        }
+        if (isDense(w, g, s)) {
+            MatrixKernels.rmsProp(w.getBackingArray(), g.getBackingArray(), s.getBackingArray(), decay, rate, epsilon, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            double gradient = g.getItem(i);
+            double square = decay * s.getItem(i) + (1 - decay) * gradient * gradient;
+            s.setItem(i, square);
+            w.setItem(i, w.getItem(i) - rate * gradient / (Math.sqrt(square) + epsilon));
+        }
+    }
+
+    /**
+     * Корректирует матрицу параметров {@code w} по градиенту {@code g} шагом Adam за один проход:
+     * {@code m = β₁m + (1-β₁)g}, {@code v = β₂v + (1-β₂)g²}, затем {@code w -= ηm / (√v + ε)}.
+     * Поправка смещения моментов должна быть учтена в скорости {@code rate}
+     *
+     * @param m Накопитель среднего градиента той же размерности, что и {@code w}
+     * @param v Накопитель среднего квадрата градиента той же размерности, что и {@code w}
+     */
+    public static void adamStep(Matrix w, Matrix g, Matrix m, Matrix v, double beta1, double beta2, double rate, double epsilon) {
+        validateRowsMismatch(w, g);
+        validateColumnsMismatch(w, g);
+        validateRowsMismatch(w, m);
+        validateColumnsMismatch(w, m);
+        validateRowsMismatch(w, v);
+        validateColumnsMismatch(w, v);
+        int length = w.getItemsNumber();
+        if (isFloat(w, g, m) && isFloat(w, w, v)) {
+            FloatKernels.adam(w.getBackingFloatArray(), g.getBackingFloatArray(), m.getBackingFloatArray(), v.getBackingFloatArray(),
+                    (float) beta1, (float) beta2, (float) rate, (float) epsilon, length);
+            return;
+        }
+        if (isBuffered(w, g, m) && isBuffered(w, w, v)) {
+            BufferKernels.adam(w.getBackingBuffer(), g.getBackingBuffer(), m.getBackingBuffer(), v.getBackingBuffer(),
+                    beta1, beta2, rate, epsilon, length);
+            return;
+        }
+        if (isDense(w, g, m) && isDense(w, w, v)) {
+            MatrixKernels.adam(w.getBackingArray(), g.getBackingArray(), m.getBackingArray(), v.getBackingArray(),
+                    beta1, beta2, rate, epsilon, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            double gradient = g.getItem(i);
+            double mean = beta1 * m.getItem(i) + (1 - beta1) * gradient;
+            double square = beta2 * v.getItem(i) + (1 - beta2) * gradient * gradient;
+            m.setItem(i, mean);
+            v.setItem(i, square);
+            w.setItem(i, w.getItem(i) - rate * mean / (Math.sqrt(square) + epsilon));
+        }
+    }
+
 
     public static void apply(Matrix a, DoubleFunction<Double> function, Matrix b) {
         validateRowsMismatch(a, b);
         validateColumnsMismatch(a, b);
+        if (isFloat(a, a, b)) {
+            FloatKernels.apply(a.getBackingFloatArray(), function, b.getBackingFloatArray(), a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, a, b)) {
+            MatrixKernels.apply(a.getBackingArray(), function, b.getBackingArray(), a.getItemsNumber());
+            return;
+        }
         for (int i = 0; i < a.getItemsNumber(); i++) {
             b.setItem(i, function.apply(a.getItem(i)));
         }
     }
 
+    /**
+     * Вычисляет полносвязный слой {@code y = f(x x w + b)} за один проход по результату. Строка смещений
+     * {@code b} прибавляется к каждой строке произведения
+     *
+     * @param v Матрица для значений до активации {@code v = x x w + b} (нужны обратному проходу) или null
+     * @param y Матрица-результат
+     */
+    public static void dense(Matrix x, Matrix w, Matrix b, Activation activation, Matrix v, Matrix y) {
+        validateColumnsRowsMismatch(x, w);
+        validateColumnsMismatch(w, b);
+        validateRowsMismatch(x, y);
+        validateColumnsMismatch(w, y);
+        Matrix t = v != null ? v : y;
+        if (v != null) {
+            validateRowsMismatch(y, v);
+            validateColumnsMismatch(y, v);
+        }
+
+        int rows = y.getRowsNumber();
+        int inner = x.getColumnsNumber();
+        int columns = y.getColumnsNumber();
+        double[] vArray = v != null ? v.getBackingArray() : null;
+
+        if (isVectorized(x, w, b) && isVectorized(y, t, t)) {
+            VectorKernels.dense(x.getBackingArray(), w.getBackingArray(), b.getBackingArray(), activation,
+                    vArray, y.getBackingArray(), rows, inner, columns);
+            return;
+        }
+        if (isFloat(x, w, b) && isFloat(y, t, t)) {
+            FloatKernels.dense(x.getBackingFloatArray(), w.getBackingFloatArray(), b.getBackingFloatArray(), activation,
+                    v != null ? v.getBackingFloatArray() : null, y.getBackingFloatArray(), rows, inner, columns);
+            return;
+        }
+        if (isDense(x, w, b) && isDense(y, t, t)) {
+            MatrixKernels.dense(x.getBackingArray(), w.getBackingArray(), b.getBackingArray(), activation,
+                    vArray, y.getBackingArray(), rows, inner, columns);
+            return;
+        }
+        mul(x, w, t);
+        addRow(t, b, t);
+        activate(t, activation, y);
+    }
+
+    /**
+     * Вычисляет функцию активации для каждого элемента: {@code b = f(a)}
+     */
+    public static void activate(Matrix a, Activation activation, Matrix b) {
+        validateRowsMismatch(a, b);
+        validateColumnsMismatch(a, b);
+        if (isFloat(a, a, b)) {
+            activation.activate(a.getBackingFloatArray(), b.getBackingFloatArray(), 0, a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, a, b)) {
+            activation.activate(a.getBackingArray(), b.getBackingArray(), 0, a.getItemsNumber());
+            return;
+        }
+        for (int i = 0; i < a.getItemsNumber(); i++) {
+            b.setItem(i, activation.activate(a.getItem(i)));
+        }
+    }
+
+    /**
+     * Вычисляет производную функции активации для каждого элемента: {@code b = f'(a)}
+     */
+    public static void derivative(Matrix a, Activation activation, Matrix b) {
+        validateRowsMismatch(a, b);
+        validateColumnsMismatch(a, b);
+        if (isFloat(a, a, b)) {
+            activation.derivative(a.getBackingFloatArray(), b.getBackingFloatArray(), 0, a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, a, b)) {
+            activation.derivative(a.getBackingArray(), b.getBackingArray(), 0, a.getItemsNumber());
+            return;
+        }
+        for (int i = 0; i < a.getItemsNumber(); i++) {
+            b.setItem(i, activation.derivative(a.getItem(i)));
+        }
+    }
+
     public static void copyTo(Matrix a, Matrix b) {
         validateRowsMismatch(a, b);
         validateColumnsMismatch(a, b);
+        if (isFloat(a, a, b)) {
+            System.arraycopy(a.getBackingFloatArray(), 0, b.getBackingFloatArray(), 0, a.getItemsNumber());
+            return;
+        }
+        if (isBuffered(a, a, b)) {
+            b.getBackingBuffer().put(0, a.getBackingBuffer(), 0, a.getItemsNumber());
+            return;
+        }
+        if (isDense(a, a, b)) {
+            System.arraycopy(a.getBackingArray(), 0, b.getBackingArray(), 0, a.getItemsNumber());
+            return;
+        }
         for (int i = 0; i < a.getItemsNumber(); i++) {
             b.setItem(i, a.getItem(i));
         }
     }
 
+    /**
+     * Прибавляет строку {@code row} к каждой строке матрицы {@code a}: {@code c[i] = a[i] + row}
+     */
+    public static void addRow(Matrix a, Matrix row, Matrix c) {
+        validateRowsMismatch(a, c);
+        validateColumnsMismatch(a, c);
+        validateColumnsMismatch(a, row);
+
+        int rows = a.getRowsNumber();
+        int columns = a.getColumnsNumber();
+        if (isFloat(a, row, c)) {
+            FloatKernels.addRow(a.getBackingFloatArray(), row.getBackingFloatArray(), c.getBackingFloatArray(), rows, columns);
+            return;
+        }
+        if (isBuffered(a, row, c)) {
+            BufferKernels.addRow(a.getBackingBuffer(), row.getBackingBuffer(), c.getBackingBuffer(), rows, columns);
+            return;
+        }
+        if (isDense(a, row, c)) {
+            MatrixKernels.addRow(a.getBackingArray(), row.getBackingArray(), c.getBackingArray(), rows, columns);
+            return;
+        }
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                c.setItem(i, j, a.getItem(i, j) + row.getItem(j));
+    }
+
+    /**
+     * Складывает строки матрицы {@code a} в строку {@code row}: {@code row = a[0] + a[1] + ...}
+     */
+    public static void sumRows(Matrix a, Matrix row) {
+        validateColumnsMismatch(a, row);
+
+        int rows = a.getRowsNumber();
+        int columns = a.getColumnsNumber();
+        if (isFloat(a, a, row)) {
+            FloatKernels.sumRows(a.getBackingFloatArray(), row.getBackingFloatArray(), rows, columns);
+            return;
+        }
+        if (isBuffered(a, a, row)) {
+            BufferKernels.sumRows(a.getBackingBuffer(), row.getBackingBuffer(), rows, columns);
+            return;
+        }
+        if (isDense(a, a, row)) {
+            MatrixKernels.sumRows(a.getBackingArray(), row.getBackingArray(), rows, columns);
+            return;
+        }
+        for (int j = 0; j < columns; j++) {
+            double value = 0.0;
+            for (int i = 0; i < rows; i++)
+                value += a.getItem(i, j);
+            row.setItem(j, value);
+        }
+    }
+
+    /**
+     * Копирует строку {@code row} в строку {@code index} матрицы {@code a}
+     */
+    public static void copyRow(Matrix row, Matrix a, int index) {
+        validateColumnsMismatch(a, row);
+        if (index < 0 || index >= a.getRowsNumber())
+            throw new IndexOutOfBoundsException("Номер строки %s вне диапазона [0, %s)"
+                    .formatted(index, a.getRowsNumber()));
+
+        int columns = a.getColumnsNumber();
+        if (isFloat(a, a, row)) {
+            System.arraycopy(row.getBackingFloatArray(), 0, a.getBackingFloatArray(), index * columns, columns);
+            return;
+        }
+        if (isDense(a, a, row)) {
+            System.arraycopy(row.getBackingArray(), 0, a.getBackingArray(), index * columns, columns);
+            return;
+        }
+        for (int j = 0; j < columns; j++)
+            a.setItem(index, j, row.getItem(j));
+    }
+
+    /**
+     * Вычисляет сумму квадратов разностей элементов матриц {@code (a - b)^2} без создания матрицы разности
+     */
+    public static double sqrsDiffSum(Matrix a, Matrix b) {
+        validateRowsMismatch(a, b);
+        validateColumnsMismatch(a, b);
+
+        a = ReadOnlyMatrix.unwrap(a);
+        b = ReadOnlyMatrix.unwrap(b);
+        int length = a.getItemsNumber();
+        double sum = 0.0;
+        if (isFloat(a, a, b)) {
+            float[] x = a.getBackingFloatArray();
+            float[] y = b.getBackingFloatArray();
+            for (int i = 0; i < length; i++) {
+                double d = x[i] - y[i];
+                sum += d * d;
+            }
+            return sum;
+        }
+        if (isDense(a, a, b)) {
+            double[] x = a.getBackingArray();
+            double[] y = b.getBackingArray();
+            for (int i = 0; i < length; i++) {
+                double d = x[i] - y[i];
+                sum += d * d;
+            }
+            return sum;
+        }
+        for (int i = 0; i < length; i++) {
+            double d = a.getItem(i) - b.getItem(i);
+            sum += d * d;
+        }
+        return sum;
+    }
+
     public static void zeros(Matrix... matrices) {
         for (Matrix matrix : matrices) {
             matrix.zeros();
         }
     }
 
+    /**
+     * Освобождает память матриц, которые управляют ею явно ({@link MatrixOffHeap}).
+     * Остальные матрицы освобождает сборщик мусора, для них метод ничего не делает.
+     * После освобождения матрицами нельзя пользоваться
+     */
+    public static void release(Matrix... matrices) {
+        if (matrices == null) return;
+        for (Matrix matrix : matrices) {
+            if (matrix instanceof MatrixOffHeap offHeap) {
+                offHeap.close();
+            }
+        }
+    }
+
     public static String toString(Matrix matrix) {
         double[] array = matrix.getArray();
         StringBuilder builder = new StringBuilder();
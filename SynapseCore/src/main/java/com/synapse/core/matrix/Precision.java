@@ -0,0 +1,31 @@
+package com.synapse.core.matrix;
+
+/**
+ * Точность, с которой сеть хранит веса и выполняет вычисления обучения и прямого прохода
+ */
+public enum Precision {
+    /**
+     * Двойная точность: матрицы создаются классом, заданным в {@link MatrixSettings}
+     */
+    DOUBLE,
+    /**
+     * Одинарная точность: матрицы создаются как {@link MatrixFloat}
+     */
+    FLOAT;
+
+    private static final Matrix FLOAT_PROTOTYPE = new MatrixFloat();
+
+    /**
+     * Возвращает образец матрицы, через {@link Matrix#createInstance} которого создаются матрицы этой точности
+     */
+    public Matrix getPrototype() {
+        return this == FLOAT ? FLOAT_PROTOTYPE : MatrixSettings.getMatrixClass();
+    }
+
+    /**
+     * Определяет точность, с которой хранит данные матрица
+     */
+    public static Precision of(Matrix matrix) {
+        return matrix.getBackingFloatArray() != null ? FLOAT : DOUBLE;
+    }
+}
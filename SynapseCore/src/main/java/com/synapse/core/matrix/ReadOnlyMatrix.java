@@ -0,0 +1,240 @@
+package com.synapse.core.matrix;
+
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.io.Serial;
+import java.util.Iterator;
+import java.util.function.DoubleFunction;
+
+/**
+ * Представление матрицы только для чтения. Не копирует данные: изменения исходной матрицы
+ * видны через представление. Операции, изменяющие матрицу, бросают UnsupportedOperationException,
+ * операции, создающие новую матрицу, делегируются исходной матрице.
+ * <p>
+ * При сериализации записывается копия исходной матрицы
+ */
+public final class ReadOnlyMatrix implements Matrix {
+
+    @Serial
+    private static final long serialVersionUID = -4480871330618946474L;
+
+    private final Matrix matrix;
+
+    private ReadOnlyMatrix(Matrix matrix) {
+        this.matrix = matrix;
+    }
+
+    /**
+     * Создает представление матрицы только для чтения
+     *
+     * @param matrix Исходная матрица
+     * @return Представление матрицы или сама матрица, если она уже является представлением только для чтения
+     */
+    public static Matrix of(Matrix matrix) {
+        return matrix instanceof ReadOnlyMatrix ? matrix : new ReadOnlyMatrix(matrix);
+    }
+
+    /**
+     * Возвращает исходную матрицу представления, чтобы MatrixUtils могли читать ее данные напрямую
+     */
+    static Matrix unwrap(Matrix matrix) {
+        return matrix instanceof ReadOnlyMatrix view ? view.matrix : matrix;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Матрица доступна только для чтения");
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns, double... data) {
+        return matrix.createInstance(rows, columns, data);
+    }
+
+    @Override
+    public int getRowsNumber() {
+        return matrix.getRowsNumber();
+    }
+
+    @Override
+    public int getColumnsNumber() {
+        return matrix.getColumnsNumber();
+    }
+
+    @Override
+    public int getItemsNumber() {
+        return matrix.getItemsNumber();
+    }
+
+    @Override
+    public double getItem(int row, int column) {
+        return matrix.getItem(row, column);
+    }
+
+    @Override
+    public double getItem(int index) {
+        return matrix.getItem(index);
+    }
+
+    @Override
+    public void setItem(int row, int column, double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setItem(int index, double value) {
+        throw readOnly();
+    }
+
+    /**
+     * Возвращает копию данных матрицы
+     */
+    @Override
+    public double[] getArray() {
+        return matrix.getArray().clone();
+    }
+
+    /**
+     * Представление не открывает массив исходной матрицы для записи
+     *
+     * @return null
+     */
+    @Override
+    public double[] getBackingArray() {
+        return null;
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        return matrix.add(m);
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        return matrix.sub(m);
+    }
+
+    @Override
+    public Matrix prod(Matrix m) {
+        return matrix.prod(m);
+    }
+
+    @Override
+    public Matrix mul(Matrix m) {
+        return matrix.mul(m);
+    }
+
+    @Override
+    public Matrix tMul(Matrix m) {
+        return matrix.tMul(m);
+    }
+
+    @Override
+    public Matrix mulT(Matrix m) {
+        return matrix.mulT(m);
+    }
+
+    @Override
+    public Matrix Trans() {
+        return matrix.Trans();
+    }
+
+    @Override
+    public Matrix scale(double scalar) {
+        return matrix.scale(scalar);
+    }
+
+    @Override
+    public Matrix scaleAdd(double scale, Matrix m) {
+        return matrix.scaleAdd(scale, m);
+    }
+
+    @Override
+    public Matrix apply(DoubleFunction<Double> function) {
+        return matrix.apply(function);
+    }
+
+    @Override
+    public Matrix normalize() {
+        return matrix.normalize();
+    }
+
+    @Override
+    public double norm2() {
+        return matrix.norm2();
+    }
+
+    @Override
+    public double sum() {
+        return matrix.sum();
+    }
+
+    @Override
+    public double sqrsSum() {
+        return matrix.sqrsSum();
+    }
+
+    @Override
+    public double average() {
+        return matrix.average();
+    }
+
+    @Override
+    public void zeros() {
+        throw readOnly();
+    }
+
+    /**
+     * Возвращает изменяемую копию исходной матрицы
+     */
+    @Override
+    public Matrix clone() {
+        return matrix.clone();
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+        Iterator<Double> iterator = matrix.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Double next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    @Serial
+    private Object writeReplace() throws ObjectStreamException {
+        return matrix.clone();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) {
+        throw readOnly();
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ReadOnlyMatrix view ? matrix.equals(view.matrix) : matrix.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return matrix.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return matrix.toString();
+    }
+}
@@ -0,0 +1,314 @@
+package com.synapse.core.matrix;
+
+import com.synapse.core.activation.Activation;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static com.synapse.core.matrix.MatrixKernels.COLUMNS_BLOCK;
+import static com.synapse.core.matrix.MatrixKernels.INNER_BLOCK;
+import static com.synapse.core.matrix.MatrixKernels.ROWS_BLOCK;
+
+/**
+ * Вычислительные ядра над построчно хранимыми массивами на SIMD-регистрах (jdk.incubator.vector).
+ * <p>
+ * Класс загружается только если модуль jdk.incubator.vector подключен к JVM
+ * ({@code --add-modules jdk.incubator.vector}), поэтому обращаться к нему можно
+ * лишь после проверки {@link MatrixSimd#isVectorized()}.
+ * Блочная структура матричных произведений повторяет {@link MatrixKernels}.
+ */
+class VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    static void add(double[] a, double[] b, double[] c, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.add(vb).intoArray(c, i);
+        }
+        for (; i < length; i++)
+            c[i] = a[i] + b[i];
+    }
+
+    static void sub(double[] a, double[] b, double[] c, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.sub(vb).intoArray(c, i);
+        }
+        for (; i < length; i++)
+            c[i] = a[i] - b[i];
+    }
+
+    static void prod(double[] a, double[] b, double[] c, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.mul(vb).intoArray(c, i);
+        }
+        for (; i < length; i++)
+            c[i] = a[i] * b[i];
+    }
+
+    static void scale(double[] a, double scalar, double[] b, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(scalar).intoArray(b, i);
+        }
+        for (; i < length; i++)
+            b[i] = a[i] * scalar;
+    }
+
+    /**
+     * Вычисляет {@code c = a + scalar * b}
+     */
+    static void scaleAdd(double[] a, double[] b, double scalar, double[] c, int length) {
+        DoubleVector vs = DoubleVector.broadcast(SPECIES, scalar);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            vb.fma(vs, va).intoArray(c, i);
+        }
+        for (; i < length; i++)
+            c[i] = a[i] + scalar * b[i];
+    }
+
+    static double sum(double[] a, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, a, i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++)
+            sum += a[i];
+        return sum;
+    }
+
+    static double sqrsSum(double[] a, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            acc = va.fma(va, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++)
+            sum += a[i] * a[i];
+        return sum;
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a x b}, см. {@link MatrixKernels#mul}
+     */
+    static void mul(double[] a, double[] b, double[] c, int rows, int inner, int columns) {
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, columns);
+                for (int kk = 0; kk < inner; kk += INNER_BLOCK) {
+                    int kEnd = Math.min(kk + INNER_BLOCK, inner);
+                    for (int i = ii; i < iEnd; i++) {
+                        if (kk == 0) Arrays.fill(c, i * columns + jj, i * columns + jEnd, 0.0);
+                        mulRow(a, i * inner, b, columns, c, i * columns, kk, kEnd, jj, jEnd);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Векторный вариант {@link MatrixKernels#dense}: вычисляет {@code y = f(x x w + b)} за один проход по результату
+     */
+    static void dense(double[] x, double[] w, double[] b, Activation activation, double[] v, double[] y,
+                      int rows, int inner, int columns) {
+        double[] t = v != null ? v : y;
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, columns);
+                for (int i = ii; i < iEnd; i++)
+                    System.arraycopy(b, jj, t, i * columns + jj, jEnd - jj);
+                for (int kk = 0; kk < inner; kk += INNER_BLOCK) {
+                    int kEnd = Math.min(kk + INNER_BLOCK, inner);
+                    for (int i = ii; i < iEnd; i++) {
+                        mulRow(x, i * inner, w, columns, t, i * columns, kk, kEnd, jj, jEnd);
+                    }
+                }
+                for (int i = ii; i < iEnd; i++)
+                    activation.activate(t, y, i * columns + jj, i * columns + jEnd);
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a^T x b}, см. {@link MatrixKernels#tMul}
+     */
+    static void tMul(double[] a, double[] b, double[] c, int rows, int inner, int columns) {
+        for (int ii = 0; ii < rows; ii += ROWS_BLOCK) {
+            int iEnd = Math.min(ii + ROWS_BLOCK, rows);
+            for (int jj = 0; jj < columns; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, columns);
+                for (int kk = 0; kk < inner; kk += INNER_BLOCK) {
+                    int kEnd = Math.min(kk + INNER_BLOCK, inner);
+                    for (int i = ii; i < iEnd; i++) {
+                        if (kk == 0) Arrays.fill(c, i * columns + jj, i * columns + jEnd, 0.0);
+                        for (int k = kk; k < kEnd; ) {
+                            if (k + 3 < kEnd) {
+                                axpy4(a[k * rows + i], a[(k + 1) * rows + i], a[(k + 2) * rows + i], a[(k + 3) * rows + i],
+                                        b, k * columns, columns, c, i * columns, jj, jEnd);
+                                k += 4;
+                            } else {
+                                axpy(a[k * rows + i], b, k * columns, c, i * columns, jj, jEnd);
+                                k++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение {@code c = a x b^T}, см. {@link MatrixKernels#mulT}
+     */
+    static void mulT(double[] a, double[] b, double[] c, int rows, int inner, int columns) {
+        for (int jj = 0; jj < columns; jj += ROWS_BLOCK) {
+            int jEnd = Math.min(jj + ROWS_BLOCK, columns);
+            for (int kk = 0; kk < inner; kk += COLUMNS_BLOCK) {
+                int kEnd = Math.min(kk + COLUMNS_BLOCK, inner);
+                for (int i = 0; i < rows; i++) {
+                    int aRow = i * inner;
+                    int cRow = i * columns;
+                    int j = jj;
+                    for (; j + 3 < jEnd; j += 4) {
+                        dot4(a, aRow, b, j * inner, inner, kk, kEnd, c, cRow + j, kk == 0);
+                    }
+                    for (; j < jEnd; j++) {
+                        double s = dot(a, aRow, b, j * inner, kk, kEnd);
+                        c[cRow + j] = kk == 0 ? s : c[cRow + j] + s;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Добавляет к отрезку строки результата {@code c[jj..jEnd)} вклад строк {@code b[kk..kEnd)},
+     * взвешенных элементами строки {@code a}
+     */
+    private static void mulRow(double[] a, int aRow, double[] b, int bStride, double[] c, int cRow,
+                               int kk, int kEnd, int jj, int jEnd) {
+        for (int k = kk; k < kEnd; ) {
+            if (k + 3 < kEnd) {
+                axpy4(a[aRow + k], a[aRow + k + 1], a[aRow + k + 2], a[aRow + k + 3],
+                        b, k * bStride, bStride, c, cRow, jj, jEnd);
+                k += 4;
+            } else {
+                axpy(a[aRow + k], b, k * bStride, c, cRow, jj, jEnd);
+                k++;
+            }
+        }
+    }
+
+    /**
+     * Добавляет к отрезку {@code c[cRow+jj..cRow+jEnd)} строку {@code b}, умноженную на {@code a0}
+     */
+    private static void axpy(double a0, double[] b, int b0, double[] c, int cRow, int jj, int jEnd) {
+        DoubleVector va0 = DoubleVector.broadcast(SPECIES, a0);
+        int j = jj;
+        for (int bound = jj + SPECIES.loopBound(jEnd - jj); j < bound; j += LANES) {
+            DoubleVector vc = DoubleVector.fromArray(SPECIES, c, cRow + j);
+            DoubleVector.fromArray(SPECIES, b, b0 + j).fma(va0, vc).intoArray(c, cRow + j);
+        }
+        for (; j < jEnd; j++)
+            c[cRow + j] += a0 * b[b0 + j];
+    }
+
+    /**
+     * Добавляет к отрезку строки результата четыре подряд идущие строки {@code b}, умноженные на {@code a0..a3}
+     */
+    private static void axpy4(double a0, double a1, double a2, double a3, double[] b, int b0, int bStride,
+                              double[] c, int cRow, int jj, int jEnd) {
+        DoubleVector va0 = DoubleVector.broadcast(SPECIES, a0);
+        DoubleVector va1 = DoubleVector.broadcast(SPECIES, a1);
+        DoubleVector va2 = DoubleVector.broadcast(SPECIES, a2);
+        DoubleVector va3 = DoubleVector.broadcast(SPECIES, a3);
+        int b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+        int j = jj;
+        for (int bound = jj + SPECIES.loopBound(jEnd - jj); j < bound; j += LANES) {
+            DoubleVector vc = DoubleVector.fromArray(SPECIES, c, cRow + j);
+            vc = DoubleVector.fromArray(SPECIES, b, b0 + j).fma(va0, vc);
+            vc = DoubleVector.fromArray(SPECIES, b, b1 + j).fma(va1, vc);
+            vc = DoubleVector.fromArray(SPECIES, b, b2 + j).fma(va2, vc);
+            vc = DoubleVector.fromArray(SPECIES, b, b3 + j).fma(va3, vc);
+            vc.intoArray(c, cRow + j);
+        }
+        for (; j < jEnd; j++)
+            c[cRow + j] += a0 * b[b0 + j] + a1 * b[b1 + j] + a2 * b[b2 + j] + a3 * b[b3 + j];
+    }
+
+    private static double dot(double[] a, int a0, double[] b, int b0, int kk, int kEnd) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int k = kk;
+        for (int bound = kk + SPECIES.loopBound(kEnd - kk); k < bound; k += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, a0 + k);
+            acc = va.fma(DoubleVector.fromArray(SPECIES, b, b0 + k), acc);
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < kEnd; k++)
+            s += a[a0 + k] * b[b0 + k];
+        return s;
+    }
+
+    /**
+     * Вычисляет скалярные произведения отрезка строки {@code a} на четыре подряд идущие строки {@code b}
+     * и добавляет их к элементам {@code c[c0..c0+4)}. Если {@code assign}, элементы перезаписываются.
+     */
+    private static void dot4(double[] a, int a0, double[] b, int b0, int bStride, int kk, int kEnd,
+                             double[] c, int c0, boolean assign) {
+        int b1 = b0 + bStride, b2 = b1 + bStride, b3 = b2 + bStride;
+        DoubleVector s0 = DoubleVector.zero(SPECIES);
+        DoubleVector s1 = DoubleVector.zero(SPECIES);
+        DoubleVector s2 = DoubleVector.zero(SPECIES);
+        DoubleVector s3 = DoubleVector.zero(SPECIES);
+        int k = kk;
+        for (int bound = kk + SPECIES.loopBound(kEnd - kk); k < bound; k += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, a0 + k);
+            s0 = va.fma(DoubleVector.fromArray(SPECIES, b, b0 + k), s0);
+            s1 = va.fma(DoubleVector.fromArray(SPECIES, b, b1 + k), s1);
+            s2 = va.fma(DoubleVector.fromArray(SPECIES, b, b2 + k), s2);
+            s3 = va.fma(DoubleVector.fromArray(SPECIES, b, b3 + k), s3);
+        }
+        double r0 = s0.reduceLanes(VectorOperators.ADD);
+        double r1 = s1.reduceLanes(VectorOperators.ADD);
+        double r2 = s2.reduceLanes(VectorOperators.ADD);
+        double r3 = s3.reduceLanes(VectorOperators.ADD);
+        for (; k < kEnd; k++) {
+            double ak = a[a0 + k];
+            r0 += ak * b[b0 + k];
+            r1 += ak * b[b1 + k];
+            r2 += ak * b[b2 + k];
+            r3 += ak * b[b3 + k];
+        }
+        if (assign) {
+            c[c0] = r0;
+            c[c0 + 1] = r1;
+            c[c0 + 2] = r2;
+            c[c0 + 3] = r3;
+        } else {
+            c[c0] += r0;
+            c[c0 + 1] += r1;
+            c[c0 + 2] += r2;
+            c[c0 + 3] += r3;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.synapse.core.nets;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import com.synapse.core.matrix.Precision;
+import com.synapse.core.matrix.ReadOnlyMatrix;
+
+/**
+ * Рабочая область прямого прохода сети: заранее созданные матрицы выходов каждого слоя.
+ * Проход по сети через контекст не создает новых матриц, результат возвращается представлением
+ * только для чтения выхода последнего слоя и перезаписывается следующим проходом.
+ * <p>
+ * Матрицы контекста имеют точность сети. Вход другой точности сначала копируется в матрицу входа контекста,
+ * чтобы все слои вычислялись ядрами одной точности.
+ * <p>
+ * Пакетный контекст из нескольких строк ({@link #InferenceContext(int[], Precision, int)}) пропускает через сеть
+ * сразу пакет входов, заполненный через {@link #setInput(int, Matrix)}.
+ * <p>
+ * Контекст не потокобезопасен. Для каждого потока контекст выдает {@link Net#getInferenceContext()}.
+ * Контекст не хранит ссылку на сеть, поэтому может обслуживать любую сеть с теми же размерами слоев
+ */
+public class InferenceContext {
+
+    private final int[] layersSizes;
+    private final Precision precision;
+    private final int rows;
+    private final Matrix input;
+    private final Matrix[] y;
+    private final Matrix output;
+
+    public InferenceContext(int[] layersSizes) {
+        this(layersSizes, Precision.DOUBLE);
+    }
+
+    public InferenceContext(int[] layersSizes, Precision precision) {
+        this(layersSizes, precision, 1);
+    }
+
+    /**
+     * @param rows Количество строк пакета входов
+     */
+    public InferenceContext(int[] layersSizes, Precision precision, int rows) {
+        this.layersSizes = layersSizes.clone();
+        this.precision = precision;
+        this.rows = rows;
+        Matrix prototype = precision.getPrototype();
+        input = prototype.createInstance(rows, layersSizes[0]);
+        y = new Matrix[layersSizes.length - 1];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = prototype.createInstance(rows, layersSizes[i + 1]);
+        }
+        output = ReadOnlyMatrix.of(y[y.length - 1]);
+    }
+
+    /**
+     * Выполняет прямой проход сети
+     *
+     * @param net   Сеть, размеры слоев которой совпадают с размерами контекста
+     * @param input Входной вектор сети
+     * @return Представление только для чтения выхода сети, действительное до следующего прохода через контекст
+     */
+    public Matrix pass(Net net, Matrix input) {
+        Matrix[] weights = net.getWeights();
+        Matrix[] biases = net.getBiases();
+
+        Matrix x = input;
+        // вход, хранящийся иначе, чем матрицы сети (другая точность, представление файла образцов),
+        // один раз копируется в матрицу контекста, а не читается поэлементно при умножении
+        if (input.getClass() != this.input.getClass() && input.getRowsNumber() == rows) {
+            MatrixUtils.copyTo(input, this.input);
+            x = this.input;
+        }
+        for (int i = 0; i < y.length; i++) {
+            // Y[i+1] = f(Y[i] x W[i] + B[i])
+            MatrixUtils.dense(x, weights[i], biases[i], net.getActivation(), null, y[i]);
+            x = y[i];
+        }
+        return output;
+    }
+
+    /**
+     * Копирует вход в строку пакета входов контекста
+     *
+     * @param row   Номер строки пакета
+     * @param input Входной вектор сети
+     */
+    public void setInput(int row, Matrix input) {
+        MatrixUtils.copyRow(input, this.input, row);
+    }
+
+    /**
+     * Выполняет прямой проход сети для пакета входов, заполненного через {@link #setInput(int, Matrix)}
+     *
+     * @return Представление только для чтения выходов сети по строкам пакета, действительное до следующего прохода
+     */
+    public Matrix pass(Net net) {
+        return pass(net, input);
+    }
+
+    public int getRowsNumber() {
+        return rows;
+    }
+
+    /**
+     * Проверяет, подходит ли контекст для сети с текущими размерами слоев
+     */
+    public boolean fits(Net net) {
+        Matrix[] weights = net.getWeights();
+        if (weights.length != y.length || weights[0].getRowsNumber() != layersSizes[0]) return false;
+        if (Precision.of(weights[0]) != precision) return false;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i].getColumnsNumber() != layersSizes[i + 1]) return false;
+        }
+        return true;
+    }
+}
@@ -2,8 +2,15 @@ package com.synapse.core.nets;
 
 import com.synapse.core.activation.Activation;
 import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import com.synapse.core.matrix.Precision;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.io.*;
 import java.util.function.DoubleFunction;
@@ -21,18 +28,32 @@ public class Net implements Cloneable, Externalizable {
     private Activation activation;
     private static final DoubleSupplier DEFAULT_INITIALIZER = () -> Math.random() * 20 - 10;
 
+    /**
+     * Рабочие области прямого прохода, по одной на поток
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient ThreadLocal<InferenceContext> inferenceContexts = newInferenceContexts();
+
     public Net(NetParameters parameters) {
-        this(parameters.getLayerSizes(), parameters.getActivation());
+        this(parameters.getLayerSizes(), parameters.getActivation(), parameters.getPrecision());
     }
 
     public Net(int[] layerSizes, Activation activation) {
+        this(layerSizes, activation, Precision.DOUBLE);
+    }
+
+    public Net(int[] layerSizes, Activation activation, Precision precision) {
+        Matrix prototype = precision.getPrototype();
         weights = new Matrix[layerSizes.length - 1];
         biases = new Matrix[layerSizes.length - 1];
         this.activation = activation;
 
         for (int i = 0; i < weights.length; i++) {
-            weights[i] = Matrix.create(layerSizes[i], layerSizes[i + 1], DEFAULT_INITIALIZER);
-            biases[i] = Matrix.create(1, layerSizes[i + 1], DEFAULT_INITIALIZER);
+            weights[i] = create(prototype, layerSizes[i], layerSizes[i + 1]);
+            biases[i] = create(prototype, 1, layerSizes[i + 1]);
         }
     }
 
@@ -44,6 +65,14 @@ public class Net implements Cloneable, Externalizable {
         this.activation = activation;
     }
 
+    private static Matrix create(Matrix prototype, int rows, int columns) {
+        Matrix matrix = prototype.createInstance(rows, columns);
+        for (int i = 0; i < matrix.getItemsNumber(); i++) {
+            matrix.setItem(i, DEFAULT_INITIALIZER.getAsDouble());
+        }
+        return matrix;
+    }
+
     public int getLayersCount() {
         return weights.length + 1;
     }
@@ -60,14 +89,50 @@ public class Net implements Cloneable, Externalizable {
         return activation.getDeactivator();
     }
 
+    /**
+     * Возвращает точность, с которой сеть хранит веса
+     */
+    public Precision getPrecision() {
+        return Precision.of(weights[0]);
+    }
+
     public Matrix pass(Matrix input) {
         Matrix output = input;
         for (int i = 0; i < weights.length; i++) {
-            output = output.mul(weights[i]).add(biases[i]).apply(activation.getActivator());
+            Matrix next = weights[i].createInstance(output.getRowsNumber(), weights[i].getColumnsNumber());
+            MatrixUtils.dense(output, weights[i], biases[i], activation, null, next);
+            output = next;
         }
         return output;
     }
 
+    /**
+     * Выполняет прямой проход сети без создания новых матриц в рабочей области текущего потока
+     *
+     * @param input Входной вектор сети
+     * @return Представление только для чтения выхода сети, действительное до следующего прохода сети в этом потоке
+     */
+    public Matrix infer(Matrix input) {
+        return getInferenceContext().pass(this, input);
+    }
+
+    /**
+     * Возвращает рабочую область прямого прохода текущего потока. Если размеры слоев сети изменились,
+     * рабочая область создается заново
+     */
+    public InferenceContext getInferenceContext() {
+        InferenceContext context = inferenceContexts.get();
+        if (!context.fits(this)) {
+            context = new InferenceContext(getLayersSizes(), getPrecision());
+            inferenceContexts.set(context);
+        }
+        return context;
+    }
+
+    private ThreadLocal<InferenceContext> newInferenceContexts() {
+        return ThreadLocal.withInitial(() -> new InferenceContext(getLayersSizes(), getPrecision()));
+    }
+
     @Override
     public Net clone() {
         try {
@@ -79,6 +144,7 @@ public class Net implements Cloneable, Externalizable {
                 clone.biases[i] = biases[i].clone();
             }
             clone.activation = activation;
+            clone.inferenceContexts = clone.newInferenceContexts();
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
@@ -0,0 +1,348 @@
+package com.synapse.core.nets;
+
+import com.synapse.core.activation.Activation;
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.Precision;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Двоичный формат сети.
+ * <p>
+ * Все числа записываются в порядке байтов little-endian:
+ * <pre>
+ *  0  int    сигнатура 'SYNN'
+ *  4  short  версия формата
+ *  6  byte   точность весов (0 — double, 1 — float)
+ *  7  byte   резерв
+ *  8  int    количество слоев n
+ * 12  int[n] размеры слоев
+ *     short  длина имени класса функции активации, затем имя в UTF-8
+ *     double коэффициент функции активации
+ *     веса и смещения каждого межслойного перехода построчно, элементы в точности сети
+ * </pre>
+ * Сеть записывается в файл и читается из него потоком через буфер постоянного размера, поэтому длина файла
+ * не ограничена размером массива, а в памяти не создается вторая копия весов. Веса копируются в буфер и из буфера
+ * целыми блоками массивов, без поэлементных вызовов getItem/setItem
+ */
+public final class NetFile {
+
+    public static final int MAGIC = 0x4E4E5953;
+    public static final short VERSION = 1;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    /**
+     * Размер буфера, через который данные пишутся в канал и читаются из него, в байтах
+     */
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    private NetFile() {
+    }
+
+    /**
+     * Вычисляет длину сети в двоичном формате в байтах
+     */
+    public static long getSize(Net net) {
+        int elementSize = getElementSize(net.getPrecision());
+        long size = 12 + 4L * net.getLayersCount();
+        size += 2 + activationName(net).length + 8;
+        for (int i = 0; i < net.getInterLayersCount(); i++) {
+            size += (long) elementSize * (net.getWeights()[i].getItemsNumber() + net.getBiases()[i].getItemsNumber());
+        }
+        return size;
+    }
+
+    /**
+     * Записывает сеть в поток
+     */
+    public static void write(Net net, Output out) throws IOException {
+        Precision precision = net.getPrecision();
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.put((byte) precision.ordinal());
+        out.put((byte) 0);
+        out.putInt(net.getLayersCount());
+        for (int size : net.getLayersSizes()) out.putInt(size);
+
+        byte[] name = activationName(net);
+        out.putShort((short) name.length);
+        out.put(name);
+        out.putDouble(net.getActivation().getScale());
+
+        for (int i = 0; i < net.getInterLayersCount(); i++) {
+            out.putMatrix(net.getWeights()[i], precision);
+            out.putMatrix(net.getBiases()[i], precision);
+        }
+    }
+
+    /**
+     * Читает сеть из потока
+     *
+     * @throws IOException если данные не являются сетью в двоичном формате
+     */
+    public static Net read(Input in) throws IOException {
+        if (in.getInt() != MAGIC)
+            throw new IOException("Данные не являются сетью в двоичном формате");
+        short version = in.getShort();
+        if (version != VERSION)
+            throw new IOException("Неподдерживаемая версия двоичного формата сети: " + version);
+        int precisionIndex = in.get();
+        if (precisionIndex < 0 || precisionIndex >= Precision.values().length)
+            throw new IOException("Неизвестная точность весов сети: " + precisionIndex);
+        Precision precision = Precision.values()[precisionIndex];
+        in.get();
+
+        int layersCount = in.getInt();
+        if (layersCount < 2)
+            throw new IOException("Некорректное количество слоев сети: " + layersCount);
+        int[] sizes = new int[layersCount];
+        for (int i = 0; i < sizes.length; i++) sizes[i] = in.getInt();
+
+        byte[] name = in.get(new byte[in.getShort() & 0xFFFF]);
+        Activation activation = createActivation(new String(name, StandardCharsets.UTF_8));
+        activation.setScale(in.getDouble());
+
+        Matrix prototype = precision.getPrototype();
+        Matrix[] weights = new Matrix[sizes.length - 1];
+        Matrix[] biases = new Matrix[sizes.length - 1];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = in.getMatrix(prototype.createInstance(sizes[i], sizes[i + 1]), precision);
+            biases[i] = in.getMatrix(prototype.createInstance(1, sizes[i + 1]), precision);
+        }
+        return new Net(weights, biases, activation);
+    }
+
+    /**
+     * Сохраняет сеть в файл. Сеть записывается во временный файл, который затем заменяет целевой,
+     * поэтому при сбое во время записи в целевом файле остается прежняя сеть
+     */
+    public static void save(Net net, File file) throws IOException {
+        writeAtomically(file.toPath(), out -> write(net, out));
+    }
+
+    public static Net load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(new Input(channel));
+        }
+    }
+
+    /**
+     * Запись данных в поток
+     */
+    @FunctionalInterface
+    public interface Writer {
+        void write(Output out) throws IOException;
+    }
+
+    /**
+     * Записывает данные во временный файл рядом с целевым и атомарно переименовывает его в целевой
+     */
+    public static void writeAtomically(Path path, Writer writer) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            writer.write(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int getElementSize(Precision precision) {
+        return precision == Precision.FLOAT ? Float.BYTES : Double.BYTES;
+    }
+
+    private static byte[] activationName(Net net) {
+        return net.getActivation().getClass().getName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Activation createActivation(String className) throws IOException {
+        try {
+            return Class.forName(className).asSubclass(Activation.class).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IOException("Неизвестная функция активации: " + className, e);
+        }
+    }
+
+    /**
+     * Поток записи в канал через буфер размера {@value BUFFER_SIZE}. Числа записываются в порядке байтов little-endian
+     */
+    public static final class Output {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+
+        public Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        public void put(byte value) throws IOException {
+            ensure(Byte.BYTES).put(value);
+        }
+
+        public void put(byte[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, ensure(1).remaining());
+                buffer.put(values, offset, count);
+                offset += count;
+            }
+        }
+
+        public void putShort(short value) throws IOException {
+            ensure(Short.BYTES).putShort(value);
+        }
+
+        public void putInt(int value) throws IOException {
+            ensure(Integer.BYTES).putInt(value);
+        }
+
+        public void putLong(long value) throws IOException {
+            ensure(Long.BYTES).putLong(value);
+        }
+
+        public void putDouble(double value) throws IOException {
+            ensure(Double.BYTES).putDouble(value);
+        }
+
+        /**
+         * Записывает элементы матрицы построчно в заданной точности блоками размером не больше буфера
+         */
+        public void putMatrix(Matrix matrix, Precision precision) throws IOException {
+            int total = matrix.getItemsNumber();
+            int elementSize = getElementSize(precision);
+            float[] floatArray = matrix.getBackingFloatArray();
+            double[] array = matrix.getBackingArray();
+            DoubleBuffer backing = matrix.getBackingBuffer();
+            for (int offset = 0; offset < total; ) {
+                int count = Math.min(total - offset, ensure(elementSize).remaining() / elementSize);
+                if (precision == Precision.FLOAT) {
+                    FloatBuffer floats = buffer.asFloatBuffer();
+                    if (floatArray != null) floats.put(floatArray, offset, count);
+                    else for (int i = 0; i < count; i++) floats.put((float) matrix.getItem(offset + i));
+                } else {
+                    DoubleBuffer doubles = buffer.asDoubleBuffer();
+                    if (array != null) doubles.put(array, offset, count);
+                    else if (backing != null) doubles.put(0, backing, offset, count);
+                    else for (int i = 0; i < count; i++) doubles.put(matrix.getItem(offset + i));
+                }
+                buffer.position(buffer.position() + count * elementSize);
+                offset += count;
+            }
+        }
+
+        /**
+         * Записывает в канал накопленные в буфере данные
+         */
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+            return buffer;
+        }
+    }
+
+    /**
+     * Поток чтения из канала через буфер размера {@value BUFFER_SIZE}. Числа читаются в порядке байтов little-endian
+     */
+    public static final class Input {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER).flip();
+
+        public Input(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        public byte get() throws IOException {
+            return ensure(Byte.BYTES).get();
+        }
+
+        public byte[] get(byte[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, ensure(1).remaining());
+                buffer.get(values, offset, count);
+                offset += count;
+            }
+            return values;
+        }
+
+        public short getShort() throws IOException {
+            return ensure(Short.BYTES).getShort();
+        }
+
+        public int getInt() throws IOException {
+            return ensure(Integer.BYTES).getInt();
+        }
+
+        public long getLong() throws IOException {
+            return ensure(Long.BYTES).getLong();
+        }
+
+        public double getDouble() throws IOException {
+            return ensure(Double.BYTES).getDouble();
+        }
+
+        /**
+         * Читает элементы матрицы, записанные {@link Output#putMatrix} в заданной точности
+         *
+         * @return Переданная матрица
+         */
+        public Matrix getMatrix(Matrix matrix, Precision precision) throws IOException {
+            int total = matrix.getItemsNumber();
+            int elementSize = getElementSize(precision);
+            float[] floatArray = matrix.getBackingFloatArray();
+            double[] array = matrix.getBackingArray();
+            DoubleBuffer backing = matrix.getBackingBuffer();
+            for (int offset = 0; offset < total; ) {
+                int count = Math.min(total - offset, ensure(elementSize).remaining() / elementSize);
+                if (precision == Precision.FLOAT) {
+                    FloatBuffer floats = buffer.asFloatBuffer();
+                    if (floatArray != null) floats.get(floatArray, offset, count);
+                    else for (int i = 0; i < count; i++) matrix.setItem(offset + i, floats.get());
+                } else {
+                    DoubleBuffer doubles = buffer.asDoubleBuffer();
+                    if (array != null) doubles.get(array, offset, count);
+                    else if (backing != null) backing.put(offset, doubles, 0, count);
+                    else for (int i = 0; i < count; i++) matrix.setItem(offset + i, doubles.get());
+                }
+                buffer.position(buffer.position() + count * elementSize);
+                offset += count;
+            }
+            return matrix;
+        }
+
+        /**
+         * Дочитывает из канала данные так, чтобы в буфере было не меньше {@code bytes} байт
+         *
+         * @throws EOFException если данные в канале закончились раньше
+         */
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return buffer;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    buffer.flip();
+                    throw new EOFException("Данные закончились раньше, чем ожидалось");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.synapse.core.nets;
 
 import com.synapse.core.activation.Activation;
+import com.synapse.core.matrix.Precision;
 import com.synapse.core.tools.Reportable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,8 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
+import java.io.Serial;
 import java.util.Arrays;
 import java.util.List;
 
@@ -17,11 +20,23 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class NetParameters implements Cloneable, Externalizable, Reportable {
+
+    @Serial
+    private static final long serialVersionUID = 4096522183665726924L;
+
     private int[] layerSizes;
     private Activation activation;
+    /**
+     * Точность весов сети и вычислений над ней
+     */
+    private Precision precision = Precision.DOUBLE;
+
+    public NetParameters(int[] layerSizes, Activation activation) {
+        this(layerSizes, activation, Precision.DOUBLE);
+    }
 
     public Net createNet() {
-        return new Net(layerSizes, activation);
+        return new Net(layerSizes, activation, precision);
     }
 
     @Override
@@ -30,6 +45,7 @@ public class NetParameters implements Cloneable, Externalizable, Reportable {
             NetParameters clone = (NetParameters) super.clone();
             clone.setLayerSizes(layerSizes);
             clone.setActivation(activation);
+            clone.setPrecision(precision);
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
@@ -43,7 +59,7 @@ public class NetParameters implements Cloneable, Externalizable, Reportable {
             out.writeInt(layerSize);
         }
         out.writeObject(activation);
-
+        out.writeObject(precision);
     }
 
     @Override
@@ -53,6 +69,14 @@ public class NetParameters implements Cloneable, Externalizable, Reportable {
             layerSizes[i] = in.readInt();
         }
         activation = (Activation) in.readObject();
+        // точность дописана после исходного формата: в сохраненных до ее появления результатах
+        // данные объекта заканчиваются раньше, и сеть считается сетью двойной точности
+        try {
+            precision = (Precision) in.readObject();
+        } catch (OptionalDataException e) {
+            if (!e.eof) throw e;
+            precision = Precision.DOUBLE;
+        }
     }
 
     @Override
@@ -60,7 +84,8 @@ public class NetParameters implements Cloneable, Externalizable, Reportable {
         return List.of(
                 "NetParameters:\n",
                 "\tlayerSizes=%s\n".formatted(Arrays.toString(layerSizes)),
-                "\tactivation=%s\n".formatted(activation)
+                "\tactivation=%s\n".formatted(activation),
+                "\tprecision=%s\n".formatted(precision)
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.synapse.core.optimizers;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import lombok.Data;
+
+/**
+ * Adam: {@code m = β₁m + (1-β₁)g}, {@code v = β₂v + (1-β₂)g²}, {@code w -= η̂m / (√v + ε)}.
+ * Поправка смещения моментов вносится в скорость: {@code η̂ = η√(1-β₂ᵗ) / (1-β₁ᵗ)}
+ */
+@Data
+public class AdamOptimizer implements Optimizer {
+
+    private double beta1;
+    private double beta2;
+    private double epsilon;
+
+    public AdamOptimizer() {
+        this(0.9, 0.999, 1e-8);
+    }
+
+    public AdamOptimizer(double beta1, double beta2, double epsilon) {
+        check(beta1, beta2, epsilon);
+        this.beta1 = beta1;
+        this.beta2 = beta2;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public int getStatesCount() {
+        return 2;
+    }
+
+    @Override
+    public void update(Matrix parameter, Matrix gradient, Matrix[] states, double rate, long step) {
+        double correctedRate = rate * Math.sqrt(1 - Math.pow(beta2, step)) / (1 - Math.pow(beta1, step));
+        MatrixUtils.adamStep(parameter, gradient, states[0], states[1], beta1, beta2, correctedRate, epsilon);
+    }
+
+    @Override
+    public double[] getFactors() {
+        return new double[]{beta1, beta2, epsilon};
+    }
+
+    @Override
+    public void setFactors(double... factors) {
+        check(factors[0], factors[1], factors[2]);
+        beta1 = factors[0];
+        beta2 = factors[1];
+        epsilon = factors[2];
+    }
+
+    private void check(double beta1, double beta2, double epsilon) {
+        if (beta1 < 0 || beta1 >= 1)
+            throw new IllegalArgumentException("Argument \"beta1\" must be in [0, 1), but was " + beta1);
+        if (beta2 < 0 || beta2 >= 1)
+            throw new IllegalArgumentException("Argument \"beta2\" must be in [0, 1), but was " + beta2);
+        if (epsilon <= 0)
+            throw new IllegalArgumentException("Argument \"epsilon\" must be greater than zero, but was " + epsilon);
+    }
+}
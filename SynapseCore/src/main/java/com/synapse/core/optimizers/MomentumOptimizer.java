@@ -0,0 +1,56 @@
+package com.synapse.core.optimizers;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import lombok.Data;
+
+/**
+ * Градиентный спуск с моментом: {@code v = μv + g}, {@code w -= ηv}
+ */
+@Data
+public class MomentumOptimizer implements Optimizer {
+
+    private double momentum;
+
+    public MomentumOptimizer() {
+        this(0.9);
+    }
+
+    public MomentumOptimizer(double momentum) {
+        check(momentum);
+        this.momentum = momentum;
+    }
+
+    @Override
+    public int getStatesCount() {
+        return 1;
+    }
+
+    @Override
+    public void update(Matrix parameter, Matrix gradient, Matrix[] states, double rate, long step) {
+        MatrixUtils.momentumStep(parameter, gradient, states[0], momentum, rate, isNesterov());
+    }
+
+    /**
+     * Корректирует ли оптимизатор параметры по градиенту в точке, куда их сдвинет момент
+     */
+    protected boolean isNesterov() {
+        return false;
+    }
+
+    @Override
+    public double[] getFactors() {
+        return new double[]{momentum};
+    }
+
+    @Override
+    public void setFactors(double... factors) {
+        check(factors[0]);
+        momentum = factors[0];
+    }
+
+    private void check(double momentum) {
+        if (momentum < 0 || momentum >= 1)
+            throw new IllegalArgumentException("Argument \"momentum\" must be in [0, 1), but was " + momentum);
+    }
+}
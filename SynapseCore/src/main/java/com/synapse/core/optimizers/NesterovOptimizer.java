@@ -0,0 +1,25 @@
+package com.synapse.core.optimizers;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Градиентный спуск с моментом Нестерова: {@code v = μv + g}, {@code w -= η(g + μv)}
+ */
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class NesterovOptimizer extends MomentumOptimizer {
+
+    public NesterovOptimizer() {
+        super();
+    }
+
+    public NesterovOptimizer(double momentum) {
+        super(momentum);
+    }
+
+    @Override
+    protected boolean isNesterov() {
+        return true;
+    }
+}
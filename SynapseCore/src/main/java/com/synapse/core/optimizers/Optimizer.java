@@ -0,0 +1,39 @@
+package com.synapse.core.optimizers;
+
+import com.synapse.core.matrix.Matrix;
+
+import java.io.Serializable;
+
+/**
+ * Правило коррекции параметров сети по градиенту пакета.
+ * <p>
+ * Оптимизатор хранит только свои коэффициенты и может быть общим для нескольких учителей.
+ * Накопители состояния (скорость, средние моменты градиента) учитель выделяет сам, по {@link #getStatesCount()}
+ * матриц на каждую матрицу весов и смещений, рядом с накопителями корректировок, и обнуляет перед обучением
+ */
+public interface Optimizer extends Serializable {
+
+    static Optimizer getDefault() {
+        return new SgdOptimizer();
+    }
+
+    /**
+     * Возвращает количество накопителей состояния на одну матрицу параметров
+     */
+    int getStatesCount();
+
+    /**
+     * Корректирует матрицу параметров по градиенту одним проходом по элементам
+     *
+     * @param parameter Матрица весов или смещений
+     * @param gradient  Градиент пакета той же размерности
+     * @param states    Накопители состояния той же размерности, {@link #getStatesCount()} штук
+     * @param rate      Скорость обучения на текущей эпохе
+     * @param step      Номер коррекции с начала обучения, начиная с 1
+     */
+    void update(Matrix parameter, Matrix gradient, Matrix[] states, double rate, long step);
+
+    double[] getFactors();
+
+    void setFactors(double... factors);
+}
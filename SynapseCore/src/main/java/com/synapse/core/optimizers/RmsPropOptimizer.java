@@ -0,0 +1,54 @@
+package com.synapse.core.optimizers;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import lombok.Data;
+
+/**
+ * RMSProp: {@code s = ρs + (1-ρ)g²}, {@code w -= ηg / (√s + ε)}
+ */
+@Data
+public class RmsPropOptimizer implements Optimizer {
+
+    private double decay;
+    private double epsilon;
+
+    public RmsPropOptimizer() {
+        this(0.9, 1e-8);
+    }
+
+    public RmsPropOptimizer(double decay, double epsilon) {
+        check(decay, epsilon);
+        this.decay = decay;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public int getStatesCount() {
+        return 1;
+    }
+
+    @Override
+    public void update(Matrix parameter, Matrix gradient, Matrix[] states, double rate, long step) {
+        MatrixUtils.rmsPropStep(parameter, gradient, states[0], decay, rate, epsilon);
+    }
+
+    @Override
+    public double[] getFactors() {
+        return new double[]{decay, epsilon};
+    }
+
+    @Override
+    public void setFactors(double... factors) {
+        check(factors[0], factors[1]);
+        decay = factors[0];
+        epsilon = factors[1];
+    }
+
+    private void check(double decay, double epsilon) {
+        if (decay < 0 || decay >= 1)
+            throw new IllegalArgumentException("Argument \"decay\" must be in [0, 1), but was " + decay);
+        if (epsilon <= 0)
+            throw new IllegalArgumentException("Argument \"epsilon\" must be greater than zero, but was " + epsilon);
+    }
+}
@@ -0,0 +1,33 @@
+package com.synapse.core.optimizers;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Стохастический градиентный спуск: {@code w -= ηg}
+ */
+@Data
+@NoArgsConstructor
+public class SgdOptimizer implements Optimizer {
+
+    @Override
+    public int getStatesCount() {
+        return 0;
+    }
+
+    @Override
+    public void update(Matrix parameter, Matrix gradient, Matrix[] states, double rate, long step) {
+        MatrixUtils.scaleSub(parameter, gradient, rate, parameter);
+    }
+
+    @Override
+    public double[] getFactors() {
+        return new double[0];
+    }
+
+    @Override
+    public void setFactors(double... factors) {
+    }
+}
@@ -3,6 +3,7 @@ package com.synapse.core.samples;
 import lombok.NoArgsConstructor;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -52,11 +53,11 @@ public class FileSampleService implements SampleService {
 
     @Override
     public List<String> getReport() {
-        List<String> report = List.of(
+        List<String> report = new ArrayList<>(List.of(
                 "FileSampleService:\n",
                 "\ttraining items limit=%s\n".formatted(trainingItemsLimit),
                 "\ttesting  items limit=%s\n".formatted(testingItemsLimit)
-        );
+        ));
         addSubReports(report, sampling.getReport());
         return report;
     }
@@ -2,10 +2,12 @@ package com.synapse.core.samples;
 
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @NoArgsConstructor
-public class InMemorySampleService implements SampleService {
+public class InMemorySampleService implements IndexedSampleService {
 
     private Sampling<Sample> sampling = new Sampling<>();
 
@@ -28,6 +30,11 @@ public class InMemorySampleService implements SampleService {
         return sampling.getTrainingSamples();
     }
 
+    @Override
+    public List<Sample> getTrainingSamples() {
+        return Collections.unmodifiableList(sampling.getTrainingSamples());
+    }
+
     @Override
     public Iterable<Sample> getTestingSampling() {
         return sampling.getTestingSamples();
@@ -36,7 +43,7 @@ public class InMemorySampleService implements SampleService {
 
     @Override
     public List<String> getReport() {
-        List<String> report = List.of("FileSampleService:\n");
+        List<String> report = new ArrayList<>(List.of("InMemorySampleService:\n"));
         addSubReports(report, sampling.getReport());
         return report;
     }
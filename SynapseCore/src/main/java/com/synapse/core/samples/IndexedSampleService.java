@@ -0,0 +1,15 @@
+package com.synapse.core.samples;
+
+import java.util.List;
+
+/**
+ * Сервис образцов с произвольным доступом к обучающей выборке по номеру образца
+ */
+public interface IndexedSampleService extends SampleService {
+
+    /**
+     * Возвращает обучающую выборку в виде списка с быстрым доступом по индексу ({@link java.util.RandomAccess}).
+     * Список не копирует образцы и не предназначен для изменения
+     */
+    List<Sample> getTrainingSamples();
+}
@@ -0,0 +1,99 @@
+package com.synapse.core.samples;
+
+import com.synapse.core.matrix.Matrix;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Выборка образцов классификации, упакованная в памяти: источники всех образцов лежат подряд в одном буфере,
+ * а цели хранятся как массив номеров классов.
+ * <p>
+ * Образцы списка не копируют данные: источник образца — представление участка буфера ({@link PackedMatrix}),
+ * цель — общее для всех образцов класса представление строки единичной матрицы. Список только для чтения
+ * и потокобезопасен для чтения
+ */
+public class LabeledSamples extends AbstractList<Sample> implements RandomAccess {
+
+    private final ByteBuffer sources;
+    private final SampleType sourceType;
+    private final int sourceWidth;
+    private final byte[] labels;
+    private final Matrix[] targets;
+
+    /**
+     * @param sources      Буфер источников с порядком байтов {@link PackedSampleHeader#ORDER},
+     *                     {@code labels.length * sourceWidth} элементов типа {@code sourceType}
+     * @param sourceType   Тип элементов источников
+     * @param sourceWidth  Количество элементов источника
+     * @param labels       Номера классов образцов
+     * @param classesCount Количество классов, не больше 256
+     */
+    public LabeledSamples(ByteBuffer sources, SampleType sourceType, int sourceWidth, byte[] labels, int classesCount) {
+        if (classesCount < 1 || classesCount > 256)
+            throw new IllegalArgumentException("Количество классов должно быть от 1 до 256, а не %d".formatted(classesCount));
+        if ((long) labels.length * sourceWidth * sourceType.getSize() > sources.capacity())
+            throw new IllegalArgumentException("Буфер источников меньше %d образцов".formatted(labels.length));
+        this.sources = sources;
+        this.sourceType = sourceType;
+        this.sourceWidth = sourceWidth;
+        this.labels = labels;
+
+        ByteBuffer identity = ByteBuffer.allocate(classesCount * classesCount);
+        targets = new Matrix[classesCount];
+        for (int i = 0; i < classesCount; i++) {
+            identity.put(i * classesCount + i, (byte) 0xFF);
+            targets[i] = new PackedMatrix(identity, i * classesCount, SampleType.UINT8, classesCount);
+        }
+    }
+
+    /**
+     * Создает буфер для источников заданного количества образцов
+     *
+     * @throws IllegalArgumentException если источники не помещаются в один буфер
+     */
+    public static ByteBuffer allocateSources(int count, int sourceWidth, SampleType sourceType) {
+        long size = (long) count * sourceWidth * sourceType.getSize();
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Источники %d образцов занимают больше 2 ГБ".formatted(count));
+        return ByteBuffer.allocate((int) size).order(PackedSampleHeader.ORDER);
+    }
+
+    @Override
+    public Sample get(int index) {
+        return new Sample(getSource(index), targets[getLabel(index)]);
+    }
+
+    /**
+     * Возвращает представление источника образца
+     */
+    public Matrix getSource(int index) {
+        int offset = index * sourceWidth * sourceType.getSize();
+        return new PackedMatrix(sources, offset, sourceType, sourceWidth);
+    }
+
+    /**
+     * Возвращает номер класса образца
+     */
+    public int getLabel(int index) {
+        return labels[index] & 0xFF;
+    }
+
+    @Override
+    public int size() {
+        return labels.length;
+    }
+
+    public SampleType getSourceType() {
+        return sourceType;
+    }
+
+    public int getSourceWidth() {
+        return sourceWidth;
+    }
+
+    public int getClassesCount() {
+        return targets.length;
+    }
+}
@@ -0,0 +1,77 @@
+package com.synapse.core.samples;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Упакованный файл образцов ({@link PackedSampleHeader}), отображенный в память только для чтения.
+ * <p>
+ * Образцы не загружаются в кучу: {@link #get(int)} возвращает образец, матрицы которого ({@link PackedMatrix})
+ * читают данные прямо из отображенной области, а страницы файла подгружает и вытесняет операционная система.
+ * Файл больше 2 ГБ отображается несколькими участками из целого числа записей.
+ * Чтение образцов потокобезопасно. Отображение освобождается сборщиком мусора
+ */
+public class MappedSampleFile {
+
+    private final File file;
+    private final PackedSampleHeader header;
+    private final ByteBuffer[] segments;
+    private final int segmentRecords;
+    private final int size;
+
+    public MappedSampleFile(File file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            header = PackedSampleHeader.read(channel);
+            if (header.getCount() > Integer.MAX_VALUE)
+                throw new IOException("Файл %s содержит больше %d образцов".formatted(file, Integer.MAX_VALUE));
+            size = (int) header.getCount();
+
+            int recordSize = header.getRecordSize();
+            segmentRecords = Integer.MAX_VALUE / recordSize;
+            segments = new ByteBuffer[Math.max(1, (size + segmentRecords - 1) / segmentRecords)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i * segmentRecords;
+                long records = Math.min(segmentRecords, size - first);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        PackedSampleHeader.SIZE + first * recordSize, records * recordSize);
+                segments[i] = segment.order(PackedSampleHeader.ORDER);
+            }
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public PackedSampleHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * Возвращает количество образцов в файле
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает образец с заданным номером, не копируя его данные
+     *
+     * @throws IndexOutOfBoundsException если номер выходит за пределы файла
+     */
+    public Sample get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Образец %d вне файла из %d образцов".formatted(index, size));
+        ByteBuffer segment = segments[index / segmentRecords];
+        int offset = (index % segmentRecords) * header.getRecordSize();
+        return new Sample(
+                new PackedMatrix(segment, offset, header.getSourceType(), header.getSourceWidth()),
+                new PackedMatrix(segment, offset + header.getTargetOffset(), header.getTargetType(), header.getTargetWidth())
+        );
+    }
+}
@@ -0,0 +1,174 @@
+package com.synapse.core.samples;
+
+import lombok.NoArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Сервис образцов, отображающий упакованные файлы образцов в память ({@link MappedSampleFile}).
+ * <p>
+ * В отличие от {@code InMemorySampleService} образцы не загружаются в кучу: выборка может быть больше
+ * оперативной памяти, а каждый образец является представлением записи файла без копирования.
+ * Файлы отображаются при первом обращении к выборке
+ */
+@NoArgsConstructor
+public class MappedSampleService implements IndexedSampleService {
+
+    private Sampling<File> sampling = new Sampling<>();
+    private int trainingItemsLimit = Integer.MAX_VALUE;
+    private int testingItemsLimit = Integer.MAX_VALUE;
+    private List<MappedSampleFile> trainingFiles;
+    private List<MappedSampleFile> testingFiles;
+
+    public MappedSampleService(Sampling<File> sampling, int trainingLimit, int testingLimit) {
+        this.sampling = sampling;
+        trainingItemsLimit = trainingLimit;
+        testingItemsLimit = testingLimit;
+    }
+
+    public MappedSampleService(Sampling<File> sampling) {
+        this(sampling, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public MappedSampleService(List<File> trainingFiles, int trainingLimit,
+                               List<File> testingFiles, int testingLimit) {
+        this(new Sampling<>(trainingFiles, testingFiles), trainingLimit, testingLimit);
+    }
+
+    public MappedSampleService(List<File> trainingFiles, List<File> testingFiles) {
+        this(trainingFiles, Integer.MAX_VALUE, testingFiles, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Возвращает отображенные файлы обучающей выборки
+     */
+    public synchronized List<MappedSampleFile> getTrainingFiles() {
+        if (trainingFiles == null) trainingFiles = map(sampling.getTrainingSamples());
+        return trainingFiles;
+    }
+
+    /**
+     * Возвращает отображенные файлы тестовой выборки
+     */
+    public synchronized List<MappedSampleFile> getTestingFiles() {
+        if (testingFiles == null) testingFiles = map(sampling.getTestingSamples());
+        return testingFiles;
+    }
+
+    /**
+     * Возвращает обучающую выборку с учетом лимита как список представлений записей отображенных файлов
+     */
+    @Override
+    public List<Sample> getTrainingSamples() {
+        return new FilesList(trainingItemsLimit, getTrainingFiles());
+    }
+
+    private static List<MappedSampleFile> map(Collection<File> files) {
+        List<MappedSampleFile> mapped = new ArrayList<>(files.size());
+        try {
+            for (File file : files) {
+                mapped.add(new MappedSampleFile(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return List.copyOf(mapped);
+    }
+
+    @Override
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>(List.of(
+                "MappedSampleService:\n",
+                "\ttraining items limit=%s\n".formatted(trainingItemsLimit),
+                "\ttesting  items limit=%s\n".formatted(testingItemsLimit)
+        ));
+        addSubReports(report, sampling.getReport());
+        return report;
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling() {
+        return () -> new FilesIterator(trainingItemsLimit, getTrainingFiles());
+    }
+
+    @Override
+    public Iterable<Sample> getTestingSampling() {
+        return () -> new FilesIterator(testingItemsLimit, getTestingFiles());
+    }
+
+    private static class FilesList extends AbstractList<Sample> implements RandomAccess {
+        private final List<MappedSampleFile> files;
+        /**
+         * Номер первого образца каждого файла в списке
+         */
+        private final int[] starts;
+        private final int size;
+
+        public FilesList(int itemsLimit, List<MappedSampleFile> files) {
+            this.files = files;
+            starts = new int[files.size()];
+            long total = 0;
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = (int) Math.min(total, Integer.MAX_VALUE);
+                total += files.get(i).size();
+            }
+            size = (int) Math.min(total, itemsLimit);
+        }
+
+        @Override
+        public Sample get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Образец %d вне выборки из %d образцов".formatted(index, size));
+            int file = Arrays.binarySearch(starts, index);
+            if (file < 0) {
+                file = -file - 2;
+            } else {
+                while (files.get(file).size() == 0) file++; // пропуск пустых файлов с тем же началом
+            }
+            return files.get(file).get(index - starts[file]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class FilesIterator implements Iterator<Sample> {
+        private final List<MappedSampleFile> files;
+        private int remaining;
+        private int file;
+        private int index;
+
+        public FilesIterator(int itemsLimit, List<MappedSampleFile> files) {
+            this.files = files;
+            remaining = itemsLimit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (file < files.size() && index >= files.get(file).size()) {
+                file++;
+                index = 0;
+            }
+            return remaining > 0 && file < files.size();
+        }
+
+        @Override
+        public Sample next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            remaining--;
+            return files.get(file).get(index++);
+        }
+    }
+}
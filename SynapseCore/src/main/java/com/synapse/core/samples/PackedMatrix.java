@@ -0,0 +1,234 @@
+package com.synapse.core.samples;
+
+import com.synapse.core.matrix.Matrix;
+
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.DoubleFunction;
+
+/**
+ * Матрица-вектор только для чтения, данные которой лежат в отображенном в память упакованном файле образцов.
+ * Не копирует данные: элементы декодируются из буфера файла при обращении к ним.
+ * Контексты обучения и прямого прохода копируют такую матрицу во входную матрицу сети одним проходом.
+ * Операции, изменяющие матрицу, бросают UnsupportedOperationException, операции, создающие новую матрицу,
+ * выполняются над копией класса, заданного в MatrixSettings.
+ * <p>
+ * При сериализации записывается копия матрицы
+ */
+public final class PackedMatrix implements Matrix {
+
+    @Serial
+    private static final long serialVersionUID = 2957011452361871307L;
+
+    private final transient ByteBuffer buffer;
+    private final transient int offset;
+    private final transient SampleType type;
+    private final int columns;
+
+    /**
+     * @param buffer  Буфер файла с порядком байтов {@link PackedSampleHeader#ORDER}
+     * @param offset  Смещение первого элемента в буфере в байтах
+     * @param type    Тип элементов
+     * @param columns Количество элементов
+     */
+    PackedMatrix(ByteBuffer buffer, int offset, SampleType type, int columns) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.type = type;
+        this.columns = columns;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Матрица доступна только для чтения");
+    }
+
+    /**
+     * Создает копию данных в матрице класса, заданного в MatrixSettings
+     */
+    private Matrix copy() {
+        return Matrix.create(1, columns, getArray());
+    }
+
+    @Override
+    public Matrix createInstance(int rows, int columns, double... data) {
+        return Matrix.create(rows, columns, data);
+    }
+
+    @Override
+    public int getRowsNumber() {
+        return 1;
+    }
+
+    @Override
+    public int getColumnsNumber() {
+        return columns;
+    }
+
+    @Override
+    public double getItem(int row, int column) {
+        if (row != 0) throw new IllegalArgumentException("Строка %d вне матрицы-вектора".formatted(row));
+        return getItem(column);
+    }
+
+    @Override
+    public double getItem(int index) {
+        if (index < 0 || index >= columns)
+            throw new IllegalArgumentException("Индекс %d вне матрицы из %d элементов".formatted(index, columns));
+        return type.get(buffer, offset + index * type.getSize());
+    }
+
+    @Override
+    public void setItem(int row, int column, double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setItem(int index, double value) {
+        throw readOnly();
+    }
+
+    /**
+     * Декодирует данные матрицы в новый массив
+     */
+    @Override
+    public double[] getArray() {
+        double[] values = new double[columns];
+        type.get(buffer, offset, values);
+        return values;
+    }
+
+    @Override
+    public Matrix add(Matrix m) {
+        return copy().add(m);
+    }
+
+    @Override
+    public Matrix sub(Matrix m) {
+        return copy().sub(m);
+    }
+
+    @Override
+    public Matrix prod(Matrix m) {
+        return copy().prod(m);
+    }
+
+    @Override
+    public Matrix mul(Matrix m) {
+        return copy().mul(m);
+    }
+
+    @Override
+    public Matrix tMul(Matrix m) {
+        return copy().tMul(m);
+    }
+
+    @Override
+    public Matrix mulT(Matrix m) {
+        return copy().mulT(m);
+    }
+
+    @Override
+    public Matrix Trans() {
+        return copy().Trans();
+    }
+
+    @Override
+    public Matrix scale(double scalar) {
+        return copy().scale(scalar);
+    }
+
+    @Override
+    public Matrix scaleAdd(double scale, Matrix m) {
+        return copy().scaleAdd(scale, m);
+    }
+
+    @Override
+    public Matrix apply(DoubleFunction<Double> function) {
+        return copy().apply(function);
+    }
+
+    @Override
+    public Matrix normalize() {
+        return copy().normalize();
+    }
+
+    @Override
+    public double norm2() {
+        return Math.sqrt(sqrsSum());
+    }
+
+    @Override
+    public double sum() {
+        double sum = 0;
+        for (double value : getArray()) sum += value;
+        return sum;
+    }
+
+    @Override
+    public double sqrsSum() {
+        double sum = 0;
+        for (double value : getArray()) sum += value * value;
+        return sum;
+    }
+
+    @Override
+    public double average() {
+        return sum() / columns;
+    }
+
+    @Override
+    public void zeros() {
+        throw readOnly();
+    }
+
+    /**
+     * Возвращает изменяемую копию матрицы класса, заданного в MatrixSettings
+     */
+    @Override
+    public Matrix clone() {
+        return copy();
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+        return Arrays.stream(getArray()).iterator();
+    }
+
+    @Serial
+    private Object writeReplace() throws ObjectStreamException {
+        return copy();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) {
+        throw readOnly();
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Matrix matrix)) return false;
+        return matrix.getRowsNumber() == 1 && matrix.getColumnsNumber() == columns
+                && Arrays.equals(getArray(), matrix.getArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(getArray());
+    }
+
+    @Override
+    public String toString() {
+        return copy().toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.synapse.core.samples;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Заголовок упакованного файла образцов.
+ * <p>
+ * Файл состоит из заголовка длиной {@link #SIZE} байт и следующих за ним записей одинаковой длины.
+ * Запись — это элементы источника образца и сразу за ними элементы цели, каждые своего типа {@link SampleType}.
+ * Все числа записываются в порядке байтов little-endian. Заголовок:
+ * <pre>
+ *  0  int   сигнатура 'SYNS'
+ *  4  short версия формата
+ *  6  byte  тип элементов источника
+ *  7  byte  тип элементов цели
+ *  8  int   количество элементов источника
+ * 12  int   количество элементов цели
+ * 16  long  количество записей (-1, если запись файла не была завершена)
+ * 24  8 байт резерв
+ * </pre>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PackedSampleHeader {
+
+    public static final int MAGIC = 0x534E5953;
+    public static final short VERSION = 1;
+    public static final int SIZE = 32;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final SampleType sourceType;
+    private final SampleType targetType;
+    private final int sourceWidth;
+    private final int targetWidth;
+    private final long count;
+
+    /**
+     * Возвращает длину записи одного образца в байтах
+     */
+    public int getRecordSize() {
+        return sourceWidth * sourceType.getSize() + targetWidth * targetType.getSize();
+    }
+
+    /**
+     * Возвращает смещение элементов цели от начала записи в байтах
+     */
+    public int getTargetOffset() {
+        return sourceWidth * sourceType.getSize();
+    }
+
+    public PackedSampleHeader withCount(long count) {
+        return new PackedSampleHeader(sourceType, targetType, sourceWidth, targetWidth, count);
+    }
+
+    public void write(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ORDER);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) sourceType.getCode())
+                .put((byte) targetType.getCode())
+                .putInt(sourceWidth)
+                .putInt(targetWidth)
+                .putLong(count)
+                .rewind(); // записывается весь заголовок вместе с резервом
+        channel.position(0);
+        while (buffer.hasRemaining()) channel.write(buffer);
+        channel.position(SIZE);
+    }
+
+    /**
+     * Читает заголовок из начала файла. Если запись файла не была завершена, количество записей
+     * вычисляется по размеру файла
+     *
+     * @throws IOException если файл не является упакованным файлом образцов
+     */
+    public static PackedSampleHeader read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ORDER);
+        channel.position(0);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                throw new IOException("Файл короче заголовка упакованных образцов");
+        }
+        buffer.flip();
+        if (buffer.getInt() != MAGIC)
+            throw new IOException("Файл не является упакованным файлом образцов");
+        short version = buffer.getShort();
+        if (version != VERSION)
+            throw new IOException("Неподдерживаемая версия формата упакованных образцов: " + version);
+
+        SampleType sourceType = SampleType.of(buffer.get());
+        SampleType targetType = SampleType.of(buffer.get());
+        int sourceWidth = buffer.getInt();
+        int targetWidth = buffer.getInt();
+        long count = buffer.getLong();
+        PackedSampleHeader header = new PackedSampleHeader(sourceType, targetType, sourceWidth, targetWidth, count);
+        if (count < 0) {
+            header = header.withCount((channel.size() - SIZE) / header.getRecordSize());
+        }
+        channel.position(SIZE);
+        return header;
+    }
+}
@@ -0,0 +1,100 @@
+package com.synapse.core.samples;
+
+import com.synapse.core.matrix.Matrix;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Последовательно читает образцы из упакованного файла образцов ({@link PackedSampleHeader}).
+ * Записи читаются из файла блоками и сразу раскладываются в матрицы класса, заданного в MatrixSettings,
+ * без промежуточной десериализации объектов
+ */
+public class PackedSampleReader implements Iterator<Sample>, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final PackedSampleHeader header;
+    private final ByteBuffer buffer;
+    private final long limit;
+    private long count;
+
+    public PackedSampleReader(File file) throws IOException {
+        this(file, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param limit Наибольшее количество образцов, которое будет прочитано
+     */
+    public PackedSampleReader(File file, long limit) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            header = PackedSampleHeader.read(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        int recordSize = header.getRecordSize();
+        buffer = ByteBuffer.allocate(Math.max(1, BUFFER_SIZE / recordSize) * recordSize).order(PackedSampleHeader.ORDER);
+        buffer.limit(0);
+        this.limit = Math.min(limit, header.getCount());
+    }
+
+    public PackedSampleHeader getHeader() {
+        return header;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return count < limit;
+    }
+
+    @Override
+    public Sample next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            if (buffer.remaining() < header.getRecordSize()) fill();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int position = buffer.position();
+        double[] source = new double[header.getSourceWidth()];
+        double[] target = new double[header.getTargetWidth()];
+        header.getSourceType().get(buffer, position, source);
+        header.getTargetType().get(buffer, position + header.getTargetOffset(), target);
+        buffer.position(position + header.getRecordSize());
+
+        count++;
+        if (count == limit) close();
+        return new Sample(Matrix.create(1, source.length, source), Matrix.create(1, target.length, target));
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        while (buffer.position() < header.getRecordSize()) {
+            if (channel.read(buffer) < 0)
+                throw new IOException("Файл образцов закончился раньше, чем указано в заголовке");
+        }
+        // дочитываем столько, сколько доступно, не дожидаясь заполнения буфера
+        channel.read(buffer);
+        buffer.flip();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.synapse.core.samples;
+
+import lombok.NoArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Сервис образцов, читающий обучающую и тестовую выборки из упакованных файлов образцов
+ * ({@link PackedSampleWriter}). Файлы выборки читаются друг за другом до исчерпания лимита образцов
+ */
+@NoArgsConstructor
+public class PackedSampleService implements SampleService {
+
+    private Sampling<File> sampling = new Sampling<>();
+    private int trainingItemsLimit = Integer.MAX_VALUE;
+    private int testingItemsLimit = Integer.MAX_VALUE;
+
+    public PackedSampleService(Sampling<File> sampling, int trainingLimit, int testingLimit) {
+        this.sampling = sampling;
+        trainingItemsLimit = trainingLimit;
+        testingItemsLimit = testingLimit;
+    }
+
+    public PackedSampleService(Sampling<File> sampling) {
+        this(sampling, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public PackedSampleService(List<File> trainingFiles, int trainingLimit,
+                               List<File> testingFiles, int testingLimit) {
+        this(new Sampling<>(trainingFiles, testingFiles), trainingLimit, testingLimit);
+    }
+
+    public PackedSampleService(List<File> trainingFiles, List<File> testingFiles) {
+        this(trainingFiles, Integer.MAX_VALUE, testingFiles, Integer.MAX_VALUE);
+    }
+
+    public void setTrainingFiles(File... trainingFiles) {
+        setTrainingFile(Integer.MAX_VALUE, trainingFiles);
+    }
+
+    public void setTestingFiles(File... testingFiles) {
+        setTestingFile(Integer.MAX_VALUE, testingFiles);
+    }
+
+    public void setTrainingFile(int trainingItemsLimit, File... trainingFiles) {
+        this.sampling.getTrainingSamples().addAll(List.of(trainingFiles));
+        this.trainingItemsLimit = trainingItemsLimit;
+    }
+
+    public void setTestingFile(int testingItemsLimit, File... testingFiles) {
+        this.sampling.getTestingSamples().addAll(List.of(testingFiles));
+        this.testingItemsLimit = testingItemsLimit;
+    }
+
+    @Override
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>(List.of(
+                "PackedSampleService:\n",
+                "\ttraining items limit=%s\n".formatted(trainingItemsLimit),
+                "\ttesting  items limit=%s\n".formatted(testingItemsLimit)
+        ));
+        addSubReports(report, sampling.getReport());
+        return report;
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling() {
+        return () -> new FilesReader(trainingItemsLimit, sampling.getTrainingSamples());
+    }
+
+    @Override
+    public Iterable<Sample> getTestingSampling() {
+        return () -> new FilesReader(testingItemsLimit, sampling.getTestingSamples());
+    }
+
+    private static class FilesReader implements Iterator<Sample> {
+        private final Iterator<File> files;
+        private PackedSampleReader reader;
+        private long remaining;
+
+        public FilesReader(int itemsLimit, Iterable<File> fileList) {
+            files = fileList.iterator();
+            remaining = itemsLimit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (remaining > 0 && (reader == null || !reader.hasNext())) {
+                if (reader != null) reader.close();
+                if (!files.hasNext()) {
+                    reader = null;
+                    return false;
+                }
+                try {
+                    reader = new PackedSampleReader(files.next(), remaining);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return remaining > 0;
+        }
+
+        @Override
+        public Sample next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            remaining--;
+            return reader.next();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.synapse.core.samples;
+
+import com.synapse.core.matrix.Matrix;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Записывает образцы в упакованный файл образцов ({@link PackedSampleHeader}).
+ * Количество записей заносится в заголовок при закрытии. Запись не потокобезопасна
+ */
+public class PackedSampleWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private PackedSampleHeader header;
+    private long count;
+
+    /**
+     * Создает файл (или перезаписывает существующий) для образцов заданной размерности
+     */
+    public PackedSampleWriter(File file, int sourceWidth, SampleType sourceType,
+                              int targetWidth, SampleType targetType) throws IOException {
+        header = new PackedSampleHeader(sourceType, targetType, sourceWidth, targetWidth, -1);
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        header.write(channel);
+        buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, header.getRecordSize())).order(PackedSampleHeader.ORDER);
+    }
+
+    public void write(Sample sample) throws IOException {
+        write(sample.getSource(), sample.getTarget());
+    }
+
+    /**
+     * Записывает образец
+     *
+     * @throws IllegalArgumentException если размерность образца не совпадает с размерностью файла
+     */
+    public void write(Matrix source, Matrix target) throws IOException {
+        if (source.getItemsNumber() != header.getSourceWidth() || target.getItemsNumber() != header.getTargetWidth())
+            throw new IllegalArgumentException("Размерность образца %dx%d не совпадает с размерностью файла %dx%d"
+                    .formatted(source.getItemsNumber(), target.getItemsNumber(),
+                            header.getSourceWidth(), header.getTargetWidth()));
+
+        if (buffer.remaining() < header.getRecordSize()) flush();
+        SampleType sourceType = header.getSourceType();
+        for (int i = 0; i < header.getSourceWidth(); i++) sourceType.put(buffer, source.getItem(i));
+        SampleType targetType = header.getTargetType();
+        for (int i = 0; i < header.getTargetWidth(); i++) targetType.put(buffer, target.getItem(i));
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            header = header.withCount(count);
+            header.write(channel);
+        } finally {
+            channel.close();
+        }
+    }
+}
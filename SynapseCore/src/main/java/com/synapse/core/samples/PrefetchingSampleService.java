@@ -0,0 +1,269 @@
+package com.synapse.core.samples;
+
+import com.synapse.core.matrix.Matrix;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Сервис образцов, заранее читающий образцы другого сервиса в фоновом потоке.
+ * <p>
+ * Для каждого обхода выборки запускается фоновый поток-демон, который читает образцы исходного сервиса
+ * и складывает их в ограниченную очередь глубины {@code depth}. Чтение с диска и декодирование образцов
+ * выполняются одновременно с прямым и обратным проходами сети, а поток обучения ждет только тогда,
+ * когда очередь пуста. Образцы-представления упакованных файлов ({@link PackedMatrix}) декодируются
+ * в фоновом потоке в обычные матрицы.
+ * <p>
+ * Сервис считает, сколько раз поток обучения ждал образец и сколько времени ушло на ожидание,
+ * а также сколько раз фоновый поток ждал освобождения очереди
+ */
+public class PrefetchingSampleService implements SampleService {
+
+    /**
+     * Глубина очереди по умолчанию, в образцах
+     */
+    public static final int DEFAULT_DEPTH = 256;
+
+    private static final AtomicInteger THREADS_COUNT = new AtomicInteger();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Признак конца выборки в очереди
+     */
+    private static final Sample END = new Sample();
+
+    private final SampleService sampleService;
+    private final int depth;
+
+    private final LongAdder takenCount = new LongAdder();
+    private final LongAdder waitsCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder producerWaitsCount = new LongAdder();
+
+    public PrefetchingSampleService(SampleService sampleService) {
+        this(sampleService, DEFAULT_DEPTH);
+    }
+
+    /**
+     * @param sampleService Исходный сервис образцов
+     * @param depth         Наибольшее количество заранее прочитанных образцов
+     */
+    public PrefetchingSampleService(SampleService sampleService, int depth) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Глубина очереди должна быть натуральным числом, а не %d".formatted(depth));
+        this.sampleService = sampleService;
+        this.depth = depth;
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling() {
+        return () -> new PrefetchingIterator(sampleService.getTrainingSampling());
+    }
+
+    @Override
+    public Iterable<Sample> getTestingSampling() {
+        return () -> new PrefetchingIterator(sampleService.getTestingSampling());
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling(long epoch) {
+        return () -> new PrefetchingIterator(sampleService.getTrainingSampling(epoch));
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Возвращает количество выданных образцов
+     */
+    public long getTakenCount() {
+        return takenCount.sum();
+    }
+
+    /**
+     * Возвращает, сколько раз поток обучения застал очередь пустой и ждал образец
+     */
+    public long getWaitsCount() {
+        return waitsCount.sum();
+    }
+
+    /**
+     * Возвращает суммарное время ожидания образцов потоком обучения в миллисекундах
+     */
+    public double getWaitMillis() {
+        return waitNanos.sum() / 1e6;
+    }
+
+    /**
+     * Возвращает, сколько раз фоновый поток застал очередь заполненной
+     */
+    public long getProducerWaitsCount() {
+        return producerWaitsCount.sum();
+    }
+
+    /**
+     * Обнуляет статистику ожиданий
+     */
+    public void resetStatistics() {
+        takenCount.reset();
+        waitsCount.reset();
+        waitNanos.reset();
+        producerWaitsCount.reset();
+    }
+
+    @Override
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>(List.of(
+                "PrefetchingSampleService:\n",
+                "\tdepth=%d\n".formatted(depth),
+                "\ttaken=%d\n".formatted(getTakenCount()),
+                "\tconsumer waits=%d (%.3f ms)\n".formatted(getWaitsCount(), getWaitMillis()),
+                "\tproducer waits=%d\n".formatted(getProducerWaitsCount())
+        ));
+        addSubReports(report, sampleService.getReport());
+        return report;
+    }
+
+    /**
+     * Переносит данные образца-представления упакованного файла в кучу
+     */
+    private static Sample prepare(Sample sample) {
+        Matrix source = sample.getSource();
+        Matrix target = sample.getTarget();
+        if (source instanceof PackedMatrix) source = source.clone();
+        if (target instanceof PackedMatrix) target = target.clone();
+        return source == sample.getSource() && target == sample.getTarget() ? sample : new Sample(source, target);
+    }
+
+    /**
+     * Фоновое чтение одного обхода выборки. Чтение не ссылается на свой итератор, поэтому итератор, брошенный
+     * посреди обхода, собирается сборщиком мусора, после чего чтение останавливается
+     */
+    private static class Producer implements Runnable {
+        private final Iterable<Sample> samples;
+        private final BlockingQueue<Sample> queue;
+        private final LongAdder producerWaitsCount;
+        private final Thread thread;
+        private volatile boolean closed;
+        private volatile Throwable failure;
+
+        Producer(Iterable<Sample> samples, int depth, LongAdder producerWaitsCount) {
+            this.samples = samples;
+            this.queue = new ArrayBlockingQueue<>(depth);
+            this.producerWaitsCount = producerWaitsCount;
+            thread = new Thread(this, "sample-prefetch-" + THREADS_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (Sample sample : samples) {
+                    if (!put(prepare(sample))) return;
+                }
+            } catch (InterruptedException e) {
+                return; // обход закрыт
+            } catch (Throwable e) {
+                failure = e; // передается потоку обучения вместе с признаком конца выборки
+            } finally {
+                if (!closed) putEnd();
+            }
+        }
+
+        private void putEnd() {
+            try {
+                put(END);
+            } catch (InterruptedException ignored) {
+            }
+        }
+
+        private boolean put(Sample sample) throws InterruptedException {
+            if (queue.offer(sample)) return true;
+            producerWaitsCount.increment();
+            while (!closed) {
+                if (queue.offer(sample, 100, TimeUnit.MILLISECONDS)) return true;
+            }
+            return false;
+        }
+
+        void close() {
+            closed = true;
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Итератор, получающий образцы из очереди, которую заполняет фоновый поток.
+     * Если обход прерван, фоновый поток останавливается при закрытии итератора
+     * или после того, как итератор соберет сборщик мусора
+     */
+    private class PrefetchingIterator implements Iterator<Sample>, AutoCloseable {
+        private final Producer producer;
+        private final Cleaner.Cleanable cleanable;
+        private Sample next;
+
+        PrefetchingIterator(Iterable<Sample> samples) {
+            producer = new Producer(samples, depth, producerWaitsCount);
+            cleanable = CLEANER.register(this, producer::close);
+            producer.start();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) next = take();
+            return next != END;
+        }
+
+        @Override
+        public Sample next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Sample sample = next;
+            next = null;
+            takenCount.increment();
+            return sample;
+        }
+
+        private Sample take() {
+            BlockingQueue<Sample> queue = producer.queue;
+            Sample sample = queue.poll();
+            if (sample == null) {
+                waitsCount.increment();
+                long start = System.nanoTime();
+                try {
+                    sample = queue.take();
+                } catch (InterruptedException e) {
+                    close();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } finally {
+                    waitNanos.add(System.nanoTime() - start);
+                }
+            }
+            Throwable failure = producer.failure;
+            if (sample == END && failure != null) {
+                queue.offer(END); // повторные обращения к итератору снова бросят исключение
+                if (failure instanceof Error error) throw error;
+                throw new RuntimeException(failure);
+            }
+            return sample;
+        }
+
+        @Override
+        public void close() {
+            cleanable.clean();
+        }
+    }
+}
@@ -12,27 +12,42 @@ public interface SampleService extends Reportable {
 
     Iterable<Sample> getTestingSampling();
 
+    /**
+     * Возвращает обучающую выборку для эпохи с заданным номером. Сервисы, у которых порядок образцов зависит
+     * от эпохи, строят его по переданному номеру, а не по собственному счетчику обходов, поэтому один сервис
+     * могут использовать несколько учителей, а продолженное с контрольной точки обучение получает тот же порядок
+     *
+     * @param epoch Номер эпохи, начиная с 0
+     */
+    default Iterable<Sample> getTrainingSampling(long epoch) {
+        return getTrainingSampling();
+    }
 
+    /**
+     * Делит выборку на обучающую и тестовую за один проход, не изменяя исходный список.
+     * Образцы обучающей выборки выбираются равномерно по всему списку, порядок образцов сохраняется
+     *
+     * @param trainingFraction Доля обучающей выборки
+     * @param samples          Образцы выборки
+     */
     static <T> Sampling<T> makeSampling(double trainingFraction, List<T> samples) {
-        List<T> training = take(samples, (int) Math.ceil(samples.size() * trainingFraction));
-        return new Sampling<>(training, samples);
+        int size = samples.size();
+        long count = (long) Math.ceil(size * trainingFraction);
+        List<T> training = new ArrayList<>((int) count);
+        List<T> testing = new ArrayList<>(size - (int) count);
+        int index = 0;
+        for (T sample : samples) {
+            // образец попадает в обучающую выборку, если на нем увеличивается целая часть index * count / size
+            boolean isTraining = (index + 1) * count / size > index * count / size;
+            (isTraining ? training : testing).add(sample);
+            index++;
+        }
+        return new Sampling<>(training, testing);
     }
 
     @SafeVarargs
     static <T> Sampling<T> makeSampling(double trainingFraction, T... samples) {
-        List<T> objects = new LinkedList<>();
-        Collections.addAll(objects, samples);
-        return makeSampling(trainingFraction, objects);
-    }
-
-    private static <T> List<T> take(List<T> samples, int count) {
-        double step = (double) samples.size() / count;
-        int size = samples.size() - 1;
-        List<T> res = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            res.add(samples.remove((int) Math.round(size - i * step)));
-        }
-        return res;
+        return makeSampling(trainingFraction, Arrays.asList(samples));
     }
 
     @Getter
@@ -40,8 +55,8 @@ public interface SampleService extends Reportable {
     class Sampling<T> implements Reportable {
 
 
-        private Set<T> trainingSamples = new HashSet<>();
-        private Set<T> testingSamples = new HashSet<>();
+        private List<T> trainingSamples = new ArrayList<>();
+        private List<T> testingSamples = new ArrayList<>();
 
         public Sampling(Collection<T> trainingSamples, Collection<T> testingSamples) {
             this.trainingSamples.addAll(trainingSamples);
@@ -73,8 +88,8 @@ public interface SampleService extends Reportable {
             return List.of(
                     "Sampling:\n",
                     "\t    size=%d\n".formatted(getSamplingSize()),
-                    "\ttraining={size=%d, percent=%06.3f%%}\n".formatted(getTrainingSize(), getTrainingFraction()),
-                    "\t testing={size=%d, percent=%06.3f%%}\n".formatted(getTestingSize(), getTestingFraction())
+                    "\ttraining={size=%d, percent=%06.3f%%}\n".formatted(getTrainingSize(), getTrainingFraction() * 100),
+                    "\t testing={size=%d, percent=%06.3f%%}\n".formatted(getTestingSize(), getTestingFraction() * 100)
             );
         }
     }
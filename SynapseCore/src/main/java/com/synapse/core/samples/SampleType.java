@@ -0,0 +1,104 @@
+package com.synapse.core.samples;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Тип, которым элементы образца хранятся в упакованном файле образцов
+ */
+public enum SampleType {
+    /**
+     * Число двойной точности, 8 байт
+     */
+    FLOAT64(1, Double.BYTES),
+    /**
+     * Число одинарной точности, 4 байта
+     */
+    FLOAT32(2, Float.BYTES),
+    /**
+     * Беззнаковый байт: значение из [0, 1] хранится как {@code round(value * 255)}.
+     * Подходит для пикселей изображений и меток one-hot
+     */
+    UINT8(3, Byte.BYTES);
+
+    private final int code;
+    private final int size;
+
+    SampleType(int code, int size) {
+        this.code = code;
+        this.size = size;
+    }
+
+    /**
+     * Возвращает код типа в заголовке файла
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Возвращает размер элемента в байтах
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Записывает значение в текущую позицию буфера
+     */
+    public void put(ByteBuffer buffer, double value) {
+        switch (this) {
+            case FLOAT64 -> buffer.putDouble(value);
+            case FLOAT32 -> buffer.putFloat((float) value);
+            case UINT8 -> buffer.put((byte) Math.max(0, Math.min(255, Math.round(value * 255))));
+        }
+    }
+
+    /**
+     * Записывает значение по абсолютной позиции буфера в байтах
+     */
+    public void put(ByteBuffer buffer, int position, double value) {
+        switch (this) {
+            case FLOAT64 -> buffer.putDouble(position, value);
+            case FLOAT32 -> buffer.putFloat(position, (float) value);
+            case UINT8 -> buffer.put(position, (byte) Math.max(0, Math.min(255, Math.round(value * 255))));
+        }
+    }
+
+    /**
+     * Читает значение по абсолютной позиции буфера в байтах
+     */
+    public double get(ByteBuffer buffer, int position) {
+        return switch (this) {
+            case FLOAT64 -> buffer.getDouble(position);
+            case FLOAT32 -> buffer.getFloat(position);
+            case UINT8 -> (buffer.get(position) & 0xFF) / 255.0;
+        };
+    }
+
+    /**
+     * Читает {@code values.length} значений, начиная с абсолютной позиции буфера в байтах
+     */
+    public void get(ByteBuffer buffer, int position, double[] values) {
+        switch (this) {
+            case FLOAT64 -> {
+                for (int i = 0; i < values.length; i++, position += Double.BYTES)
+                    values[i] = buffer.getDouble(position);
+            }
+            case FLOAT32 -> {
+                for (int i = 0; i < values.length; i++, position += Float.BYTES)
+                    values[i] = buffer.getFloat(position);
+            }
+            case UINT8 -> {
+                for (int i = 0; i < values.length; i++, position++)
+                    values[i] = (buffer.get(position) & 0xFF) / 255.0;
+            }
+        }
+    }
+
+    public static SampleType of(int code) {
+        for (SampleType type : values()) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("Неизвестный тип элементов образца: " + code);
+    }
+}
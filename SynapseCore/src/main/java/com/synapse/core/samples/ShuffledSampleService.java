@@ -0,0 +1,179 @@
+package com.synapse.core.samples;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сервис образцов, перемешивающий обучающую выборку другого сервиса на каждой эпохе.
+ * <p>
+ * Порядок образцов определяется зерном и номером эпохи, который передает учитель
+ * ({@link #getTrainingSampling(long)}), поэтому воспроизводится при повторном обучении с тем же зерном
+ * и не зависит от других учителей, обучающихся на этом же сервисе. Обход без номера эпохи
+ * ({@link #getTrainingSampling()}) считается следующей эпохой собственного счетчика сервиса.
+ * <p>
+ * Если исходный сервис дает произвольный доступ к образцам ({@link IndexedSampleService}), на эпоху
+ * перемешивается массив номеров образцов, а сами образцы не копируются. Иначе выборка читается потоком
+ * блоками по {@code blockSize} образцов, и перемешивается каждый блок. Тестовая выборка не перемешивается.
+ * <p>
+ * Чтобы перемешивание не зависело от фонового чтения, {@link PrefetchingSampleService} нужно оборачивать
+ * вокруг этого сервиса, а не наоборот
+ */
+public class ShuffledSampleService implements SampleService {
+
+    /**
+     * Размер перемешиваемого блока потоковой выборки по умолчанию, в образцах
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private static final long EPOCH_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final SampleService sampleService;
+    private final long seed;
+    private final int blockSize;
+    private final AtomicLong epochCount = new AtomicLong();
+
+    public ShuffledSampleService(SampleService sampleService, long seed) {
+        this(sampleService, seed, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param sampleService Исходный сервис образцов
+     * @param seed          Зерно перемешивания
+     * @param blockSize     Размер перемешиваемого блока, если исходный сервис не дает произвольного доступа
+     */
+    public ShuffledSampleService(SampleService sampleService, long seed, int blockSize) {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Размер блока должен быть натуральным числом, а не %d".formatted(blockSize));
+        this.sampleService = sampleService;
+        this.seed = seed;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Возвращает количество начатых обходов обучающей выборки без номера эпохи
+     */
+    public long getEpochCount() {
+        return epochCount.get();
+    }
+
+    /**
+     * Начинает перемешивание заново, с первой эпохи
+     */
+    public void reset() {
+        epochCount.set(0);
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling() {
+        return () -> shuffle(epochCount.getAndIncrement());
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling(long epoch) {
+        return () -> shuffle(epoch);
+    }
+
+    @Override
+    public Iterable<Sample> getTestingSampling() {
+        return sampleService.getTestingSampling();
+    }
+
+    @Override
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>(List.of(
+                "ShuffledSampleService:\n",
+                "\tseed=%d\n".formatted(seed),
+                "\tmode=%s\n".formatted(sampleService instanceof IndexedSampleService
+                        ? "permutation" : "blocks of %d".formatted(blockSize))
+        ));
+        addSubReports(report, sampleService.getReport());
+        return report;
+    }
+
+    private Iterator<Sample> shuffle(long epoch) {
+        Random random = new Random(seed + epoch * EPOCH_SEED_STEP);
+        if (sampleService instanceof IndexedSampleService indexed) {
+            return new PermutationIterator(indexed.getTrainingSamples(), random);
+        }
+        return new BlockIterator(sampleService.getTrainingSampling().iterator(), random);
+    }
+
+    /**
+     * Перемешивает первые {@code length} элементов массива по алгоритму Фишера-Йетса
+     */
+    private static <T> void shuffle(T[] array, int length, Random random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+    }
+
+    private static class PermutationIterator implements Iterator<Sample> {
+        private final List<Sample> samples;
+        private final int[] permutation;
+        private int index;
+
+        PermutationIterator(List<Sample> samples, Random random) {
+            this.samples = samples;
+            permutation = new int[samples.size()];
+            for (int i = 0; i < permutation.length; i++) {
+                int j = random.nextInt(i + 1); // перемешивание "изнутри наружу" сразу при заполнении
+                permutation[i] = permutation[j];
+                permutation[j] = i;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < permutation.length;
+        }
+
+        @Override
+        public Sample next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return samples.get(permutation[index++]);
+        }
+    }
+
+    private class BlockIterator implements Iterator<Sample> {
+        private final Iterator<Sample> samples;
+        private final Random random;
+        private final Sample[] block = new Sample[blockSize];
+        private int length;
+        private int index;
+
+        BlockIterator(Iterator<Sample> samples, Random random) {
+            this.samples = samples;
+            this.random = random;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index == length) fill();
+            return index < length;
+        }
+
+        private void fill() {
+            length = 0;
+            index = 0;
+            while (length < block.length && samples.hasNext()) {
+                block[length++] = samples.next();
+            }
+            shuffle(block, length, random);
+        }
+
+        @Override
+        public Sample next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Sample sample = block[index];
+            block[index++] = null;
+            return sample;
+        }
+    }
+}
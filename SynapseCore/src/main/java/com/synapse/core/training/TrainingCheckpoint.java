@@ -0,0 +1,168 @@
+package com.synapse.core.training;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.Precision;
+import com.synapse.core.nets.Net;
+import com.synapse.core.nets.NetFile;
+import com.synapse.core.nets.NetParameters;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Контрольная точка обучения: все, что нужно учителю, чтобы продолжить обучение с эпохи, на которой она сохранена.
+ * <p>
+ * Сохраняется в двоичном формате, все числа в порядке байтов little-endian:
+ * <pre>
+ *  0  int      сигнатура 'SYNK'
+ *  4  short    версия формата
+ *  6  short    резерв
+ *  8  int      количество пройденных эпох
+ * 12  long     номер эпохи, с которой продолжается перемешивание обучающей выборки, равен количеству пройденных эпох
+ * 20  long     время обучения в наносекундах
+ * 28  int n    и n double — коэффициенты функции скорости обучения
+ *     int n    и n double — ошибки обучения, затем так же ошибки и проценты тестирования
+ *     double   наименьшая ошибка тестирования
+ *     int      эпоха лучшей сети
+ *     byte     1, если лучшая сеть сохранена
+ *     сеть в формате {@link NetFile}, затем лучшая сеть в том же формате
+ *     long     количество коррекций весов оптимизатором (с версии 2)
+ *     int n    и n матриц накопителей оптимизатора: int строк, int столбцов, элементы double (с версии 2)
+ *     long     отпечаток параметров сети и обучения (с версии 3)
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+public class TrainingCheckpoint {
+
+    public static final int MAGIC = 0x4B4E5953;
+    public static final short VERSION = 3;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private int epochCount;
+    private Duration duration = Duration.ZERO;
+    private double[] rateFactors = new double[0];
+    private List<Double> trainingErrors = new ArrayList<>();
+    private List<Double> testingErrors = new ArrayList<>();
+    private List<Double> testingPercents = new ArrayList<>();
+    private double minTestError = Double.MAX_VALUE;
+    private int bestEpoch = -1;
+    private Net net;
+    private Net bestNet;
+    private long optimizerStep;
+    private Matrix[] optimizerStates = new Matrix[0];
+    /**
+     * Отпечаток параметров обучения, сохранившего точку, см. {@link #fingerprint}. 0, если точка сохранена без него
+     */
+    private long parametersHash;
+
+    /**
+     * Сохраняет контрольную точку в файл. Точка записывается во временный файл, который затем заменяет целевой,
+     * поэтому при сбое во время записи в целевом файле остается предыдущая точка. Сети и накопители оптимизатора
+     * пишутся в файл потоком через буфер постоянного размера, без сборки всей точки в памяти
+     */
+    public void save(File file) throws IOException {
+        NetFile.writeAtomically(file.toPath(), out -> {
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+            out.putShort((short) 0);
+            out.putInt(epochCount);
+            out.putLong(epochCount); // порядок образцов эпохи определяется ее номером
+            out.putLong(duration.toNanos());
+            out.putInt(rateFactors.length);
+            for (double factor : rateFactors) out.putDouble(factor);
+            putList(out, trainingErrors);
+            putList(out, testingErrors);
+            putList(out, testingPercents);
+            out.putDouble(minTestError);
+            out.putInt(bestEpoch);
+            out.put((byte) (bestNet != null ? 1 : 0));
+            NetFile.write(net, out);
+            if (bestNet != null) NetFile.write(bestNet, out);
+            out.putLong(optimizerStep);
+            out.putInt(optimizerStates.length);
+            for (Matrix state : optimizerStates) {
+                out.putInt(state.getRowsNumber());
+                out.putInt(state.getColumnsNumber());
+                out.putMatrix(state, Precision.DOUBLE);
+            }
+            out.putLong(parametersHash);
+        });
+    }
+
+    /**
+     * Читает контрольную точку из файла
+     *
+     * @throws IOException если файл не является контрольной точкой обучения
+     */
+    public static TrainingCheckpoint load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            NetFile.Input in = new NetFile.Input(channel);
+            if (channel.size() < 28 || in.getInt() != MAGIC)
+                throw new IOException("Файл не является контрольной точкой обучения: " + file);
+            short version = in.getShort();
+            if (version < 1 || version > VERSION)
+                throw new IOException("Неподдерживаемая версия формата контрольной точки: " + version);
+            in.getShort();
+
+            TrainingCheckpoint checkpoint = new TrainingCheckpoint();
+            checkpoint.epochCount = in.getInt();
+            in.getLong(); // совпадает с количеством пройденных эпох
+            checkpoint.duration = Duration.ofNanos(in.getLong());
+            checkpoint.rateFactors = new double[in.getInt()];
+            for (int i = 0; i < checkpoint.rateFactors.length; i++) checkpoint.rateFactors[i] = in.getDouble();
+            checkpoint.trainingErrors = getList(in);
+            checkpoint.testingErrors = getList(in);
+            checkpoint.testingPercents = getList(in);
+            checkpoint.minTestError = in.getDouble();
+            checkpoint.bestEpoch = in.getInt();
+            boolean hasBestNet = in.get() != 0;
+            checkpoint.net = NetFile.read(in);
+            if (hasBestNet) checkpoint.bestNet = NetFile.read(in);
+            if (version >= 2) {
+                checkpoint.optimizerStep = in.getLong();
+                checkpoint.optimizerStates = new Matrix[in.getInt()];
+                for (int i = 0; i < checkpoint.optimizerStates.length; i++) {
+                    int rows = in.getInt();
+                    int columns = in.getInt();
+                    checkpoint.optimizerStates[i] = in.getMatrix(Matrix.create(rows, columns), Precision.DOUBLE);
+                }
+            }
+            if (version >= 3) checkpoint.parametersHash = in.getLong();
+            return checkpoint;
+        }
+    }
+
+    /**
+     * Вычисляет отпечаток параметров сети и обучения по их отчетам. В отличие от {@code hashCode()}, отпечаток
+     * не меняется от запуска к запуску программы, поэтому по нему можно узнать, сохранена ли точка с теми же параметрами
+     */
+    public static long fingerprint(NetParameters netParameters, TrainingParameters trainingParameters) {
+        CRC32 crc = new CRC32();
+        for (String line : netParameters.getReport()) crc.update(line.getBytes(StandardCharsets.UTF_8));
+        for (String line : trainingParameters.getReport()) crc.update(line.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static void putList(NetFile.Output out, List<Double> values) throws IOException {
+        out.putInt(values.size());
+        for (double value : values) out.putDouble(value);
+    }
+
+    private static List<Double> getList(NetFile.Input in) throws IOException {
+        int size = in.getInt();
+        List<Double> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add(in.getDouble());
+        return values;
+    }
+}
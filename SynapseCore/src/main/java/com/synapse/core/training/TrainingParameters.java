@@ -1,24 +1,52 @@
 package com.synapse.core.training;
 
+import com.synapse.core.optimizers.Optimizer;
 import com.synapse.core.rates.Rate;
 import com.synapse.core.tools.Reportable;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
+import java.io.Serial;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 public class TrainingParameters implements Cloneable, Externalizable, Reportable {
 
+    @Serial
+    private static final long serialVersionUID = -7246735216878652573L;
+
     private Rate rate;
     private int maxEpochsCount;
     private int batchSize;
     private double errorLimit;
+    /**
+     * Обучение пакетами-матрицами: источники пакета складываются в матрицу {@code batchSize x N},
+     * и прямой и обратный проходы выполняются матричными произведениями для всего пакета сразу
+     */
+    private boolean batched;
+    /**
+     * Асинхронное тестирование: сеть после эпохи копируется, и копия тестируется в отдельном потоке,
+     * пока обучается следующая эпоха. Решение об остановке обучения принимается по мере получения результатов
+     */
+    private boolean asyncTesting;
+    /**
+     * Правило коррекции весов по градиенту пакета. Если не задано, веса корректируются стохастическим градиентным спуском
+     */
+    private Optimizer optimizer;
+
+    /**
+     * Возвращает оптимизатор обучения или {@link Optimizer#getDefault()}, если он не задан
+     */
+    public Optimizer getOptimizerOrDefault() {
+        return optimizer != null ? optimizer : Optimizer.getDefault();
+    }
 
     @Override
     public TrainingParameters clone() {
@@ -27,6 +55,9 @@ public class TrainingParameters implements Cloneable, Externalizable, Reportable
             clone.setMaxEpochsCount(maxEpochsCount);
             clone.setRate(rate);
             clone.setErrorLimit(errorLimit);
+            clone.setBatched(batched);
+            clone.setAsyncTesting(asyncTesting);
+            clone.setOptimizer(optimizer);
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
@@ -39,6 +70,9 @@ public class TrainingParameters implements Cloneable, Externalizable, Reportable
         out.writeInt(batchSize);
         out.writeDouble(errorLimit);
         out.writeObject(rate);
+        out.writeBoolean(batched);
+        out.writeBoolean(asyncTesting);
+        out.writeObject(optimizer);
     }
 
     @Override
@@ -47,7 +81,18 @@ public class TrainingParameters implements Cloneable, Externalizable, Reportable
         batchSize = in.readInt();
         errorLimit = in.readDouble();
         rate = (Rate) in.readObject();
-
+        // поля, дописанные после исходного формата, необязательны: в сохраненных до их появления результатах
+        // данные объекта заканчиваются раньше, и поля остаются со значениями по умолчанию
+        try {
+            batched = in.readBoolean();
+            asyncTesting = in.readBoolean();
+            optimizer = (Optimizer) in.readObject();
+        } catch (EOFException e) {
+            // данные объекта закончились до поля-примитива
+        } catch (OptionalDataException e) {
+            // данные объекта закончились до поля-объекта
+            if (!e.eof) throw e;
+        }
     }
 
     @Override
@@ -57,7 +102,10 @@ public class TrainingParameters implements Cloneable, Externalizable, Reportable
                 "\tmaxEpochsCount=%s\n".formatted(maxEpochsCount),
                 "\tbatchSize=%s\n".formatted(batchSize),
                 "\terrorLimit=%s\n".formatted(errorLimit),
-                "\trate=%s\n".formatted(rate)
+                "\trate=%s\n".formatted(rate),
+                "\tbatched=%s\n".formatted(batched),
+                "\tasyncTesting=%s\n".formatted(asyncTesting),
+                "\toptimizer=%s\n".formatted(getOptimizerOrDefault())
         );
     }
 }
@@ -0,0 +1,124 @@
+package com.synapse.core.training.teachers;
+
+import com.synapse.core.activation.Activation;
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixArena;
+import com.synapse.core.matrix.MatrixUtils;
+import com.synapse.core.nets.Net;
+import com.synapse.core.samples.Sample;
+
+import java.util.List;
+
+/**
+ * Контекст вычислений для пакета, сложенного в матрицу: каждая строка матриц Y, V и δ
+ * соответствует одному образцу пакета. Корректировки весов всего пакета вычисляются
+ * одним произведением {@code Y[i]^T x δ[i]} на слой и сразу записываются в переданные накопители.
+ * Контекст не потокобезопасен, каждому потоку обучения нужен свой экземпляр
+ */
+class BatchContext {
+    private final Net net;
+    private final int size;
+    private final Matrix[] y;
+    private final Matrix[] v;
+    private final Matrix[] g;
+    private final Matrix target;
+    private final Matrix errorMatrix;
+
+    private double errorValue;
+
+    /**
+     * @param size  Количество образцов пакета
+     * @param arena Область, в которой выделяются временные матрицы контекста
+     */
+    public BatchContext(Net net, int size, MatrixArena arena) {
+        this.net = net;
+        this.size = size;
+        Matrix[] weights = net.getWeights();
+        int layerCount = net.getInterLayersCount();
+
+        y = new Matrix[layerCount + 1];
+        v = new Matrix[layerCount];
+        g = new Matrix[layerCount];
+
+        y[0] = arena.allocate(size, weights[0].getRowsNumber());
+        for (int i = 0; i < layerCount; i++) {
+            y[i + 1] = arena.allocate(size, weights[i].getColumnsNumber());
+            v[i] = arena.allocate(size, weights[i].getColumnsNumber());
+            g[i] = arena.allocate(size, weights[i].getColumnsNumber());
+        }
+        target = arena.allocate(size, weights[layerCount - 1].getColumnsNumber());
+        errorMatrix = arena.allocate(size, weights[layerCount - 1].getColumnsNumber());
+    }
+
+    /**
+     * Выполняет проход вперед и назад для пакета образцов
+     *
+     * @param samples      Образцы пакета, их количество должно совпадать с размером контекста
+     * @param correctionsW Накопители, в которые записываются суммарные корректировки весов пакета
+     * @param correctionsB Накопители, в которые записываются суммарные корректировки смещений пакета
+     */
+    public void pass(List<Sample> samples, Matrix[] correctionsW, Matrix[] correctionsB) {
+        for (int i = 0; i < size; i++) {
+            Sample sample = samples.get(i);
+            MatrixUtils.copyRow(sample.getSource(), y[0], i); // X[i] = source
+            MatrixUtils.copyRow(sample.getTarget(), target, i); // T[i] = target
+        }
+
+        forwardPass(); //прямой проход сети
+        calcError(); //вычисление и сохранение ошибки сети
+        backwardPass(correctionsW, correctionsB); //обратный проход
+    }
+
+    private void forwardPass() {
+        Activation activation = net.getActivation();
+        Matrix[] weights = net.getWeights();
+        Matrix[] biases = net.getBiases();
+
+        for (int i = 0; i < net.getInterLayersCount(); i++) {
+            // V[i] = Y[i] x W[i] + B[i] (B[i] прибавляется к каждой строке), Y[i+1] = f(V[i])
+            MatrixUtils.dense(y[i], weights[i], biases[i], activation, v[i], y[i + 1]);
+        }
+    }
+
+    private void calcError() {
+        Matrix output = y[y.length - 1]; // O = Y[L-1]
+        MatrixUtils.sub(target, output, errorMatrix); // E = T - O
+        errorValue = errorMatrix.sqrsSum() / 2;
+    }
+
+    private void backwardPass(Matrix[] correctionsW, Matrix[] correctionsB) {
+        Activation activation = net.getActivation();
+        Matrix[] weights = net.getWeights();
+        int last = g.length - 1;
+
+        // δ[L-1] = -f'(V[L-1]) * E
+        MatrixUtils.derivative(v[last], activation, g[last]);
+        MatrixUtils.prod(g[last], errorMatrix, g[last]);
+        MatrixUtils.scale(g[last], -1.0, g[last]);
+
+        // ΔW[L-1] = Y[L-1]^T x δ[L-1] (сумма по образцам пакета)
+        MatrixUtils.tMul(y[last], g[last], correctionsW[last]);
+        // ΔB[L-1] = сумма строк δ[L-1]
+        MatrixUtils.sumRows(g[last], correctionsB[last]);
+
+        for (int i = last - 1; i >= 0; i--) {
+            // δ[i] = f'(V[i]) * (δ[i+1] x W[i+1]^T)
+            MatrixUtils.derivative(v[i], activation, v[i]);
+            MatrixUtils.mulT(g[i + 1], weights[i + 1], g[i]);
+            MatrixUtils.prod(v[i], g[i], g[i]);
+
+            // ΔW[i] = Y[i]^T x δ[i]
+            MatrixUtils.tMul(y[i], g[i], correctionsW[i]);
+            // ΔB[i] = сумма строк δ[i]
+            MatrixUtils.sumRows(g[i], correctionsB[i]);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getErrorValue() {
+        return errorValue;
+    }
+}
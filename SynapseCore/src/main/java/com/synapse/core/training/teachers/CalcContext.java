@@ -0,0 +1,131 @@
+package com.synapse.core.training.teachers;
+
+import com.synapse.core.activation.Activation;
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixArena;
+import com.synapse.core.matrix.MatrixUtils;
+import com.synapse.core.nets.Net;
+import com.synapse.core.samples.Sample;
+
+/**
+ * Контекст вычислений одного прохода образца по сети: временные матрицы прямого и обратного прохода
+ * и корректировки весов, полученные на этом образце. Контекст не потокобезопасен, каждому потоку
+ * обучения нужен свой экземпляр
+ */
+class CalcContext {
+    private final Net net;
+    private final Matrix[] y;
+    private final Matrix[] v;
+    private final Matrix[] g;
+    private final Matrix[] w;
+    private final Matrix[] b;
+    private final Matrix errorMatrix;
+    /**
+     * Матрицы для входа и цели образца, если они хранятся иначе, чем матрицы сети
+     */
+    private final Matrix input;
+    private final Matrix target;
+
+    private double errorValue;
+
+    /**
+     * @param arena Область, в которой выделяются временные матрицы контекста
+     */
+    public CalcContext(Net net, MatrixArena arena) {
+        this.net = net;
+        Matrix[] weights = net.getWeights();
+        Matrix[] biases = net.getBiases();
+        int layerCount = net.getInterLayersCount();
+
+        y = new Matrix[layerCount + 1];
+        v = new Matrix[layerCount];
+        g = new Matrix[layerCount];
+        w = new Matrix[layerCount];
+        b = new Matrix[layerCount];
+
+        input = arena.allocate(1, weights[0].getRowsNumber());
+        target = arena.allocate(1, weights[weights.length - 1].getColumnsNumber());
+        for (int i = 0; i < weights.length; i++) {
+            y[i + 1] = arena.allocate(1, weights[i].getColumnsNumber());
+            v[i] = arena.allocate(1, weights[i].getColumnsNumber());
+            g[i] = arena.allocate(1, weights[i].getColumnsNumber());
+            w[i] = arena.allocate(weights[i].getRowsNumber(), weights[i].getColumnsNumber());
+            b[i] = arena.allocate(1, biases[i].getColumnsNumber());
+        }
+        errorMatrix = arena.allocate(1, weights[weights.length - 1].getColumnsNumber());
+    }
+
+    public void pass(Sample sample) {
+        forwardPass(convert(sample.getSource(), input)); //прямой проход сети
+        calcError(convert(sample.getTarget(), target)); //вычисление и сохранение ошибки сети
+        backwardPass(); //обратный проход
+    }
+
+    /**
+     * Возвращает матрицу образца, если она того же класса, что и матрицы сети, иначе копию в матрице {@code buffer}.
+     * Копируются образцы другой точности и представления упакованных файлов образцов
+     */
+    private static Matrix convert(Matrix matrix, Matrix buffer) {
+        if (matrix.getClass() == buffer.getClass()) return matrix;
+        MatrixUtils.copyTo(matrix, buffer);
+        return buffer;
+    }
+
+    private void forwardPass(Matrix input) {
+        Activation activation = net.getActivation();
+        Matrix[] weights = net.getWeights();
+        Matrix[] biases = net.getBiases();
+
+        y[0] = input; // Y[0] = X
+        for (int i = 0; i < net.getInterLayersCount(); i++) {
+            // V[i] = Y[i] x W[i] + B[i], Y[i+1] = f(V[i])
+            MatrixUtils.dense(y[i], weights[i], biases[i], activation, v[i], y[i + 1]);
+        }
+    }
+
+    private void calcError(Matrix target) {
+        Matrix output = y[y.length - 1]; // O = Y[L-1]
+        MatrixUtils.sub(target, output, errorMatrix); // E = T - O
+        errorValue = errorMatrix.sqrsSum() / 2;
+    }
+
+    private void backwardPass() {
+        Activation activation = net.getActivation();
+        Matrix[] weights = net.getWeights();
+        int last = w.length - 1;
+
+        // δ[L-1] = -f'(V[L-1]) * E
+        MatrixUtils.derivative(v[last], activation, g[last]);
+        MatrixUtils.prod(g[last], errorMatrix, g[last]);
+        MatrixUtils.scale(g[last], -1.0, g[last]);
+
+        // ΔW[L-1] = Y[L-1]^T x δ[L-1]
+        MatrixUtils.tMul(y[last], g[last], w[last]);
+        // ΔB[L-1] = δ[L-1]
+        MatrixUtils.copyTo(g[last], b[last]);
+
+        for (int i = last - 1; i >= 0; i--) {
+            // δ[i] = f'(V[i]) * (δ[i+1] x W[i+1]^T)
+            MatrixUtils.derivative(v[i], activation, v[i]);
+            MatrixUtils.mulT(g[i + 1], weights[i + 1], g[i]);
+            MatrixUtils.prod(v[i], g[i], g[i]);
+
+            // ΔW[i] = Y[i]^T x δ[i]
+            MatrixUtils.tMul(y[i], g[i], w[i]);
+            // ΔB[i] = δ[i]
+            MatrixUtils.copyTo(g[i], b[i]);
+        }
+    }
+
+    public Matrix[] getCorrectionsW() {
+        return w;
+    }
+
+    public Matrix[] getCorrectionsB() {
+        return b;
+    }
+
+    public double getErrorValue() {
+        return errorValue;
+    }
+}
@@ -0,0 +1,144 @@
+package com.synapse.core.training.teachers;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.samples.Sample;
+import com.synapse.core.tools.CoreContext;
+import com.synapse.core.tools.Timing;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.synapse.core.tools.DelayedFormatter.format;
+
+/**
+ * Учитель асинхронного стохастического градиентного спуска без блокировок (Hogwild).
+ * <p>
+ * Потоки обучения забирают образцы из общего итератора обучающей выборки порциями по {@code batchSize},
+ * вычисляют корректировки порции в собственных буферах и сразу, без синхронизации, вычитают их
+ * из общих весов сети. Потоки могут читать веса, частично обновленные другими потоками, — это допущение
+ * метода, при разреженных корректировках оно почти не влияет на сходимость. Скорость обучения и
+ * тестирование после каждой эпохи те же, что у {@link MiddleTeacher}
+ */
+@Slf4j
+@NoArgsConstructor
+public class HogwildTeacher extends MiddleTeacher {
+
+    private ExecutorService executorService = CoreContext.EXECUTOR_SERVICE;
+
+    /**
+     * Количество потоков обучения
+     */
+    @Getter
+    @Setter
+    private int threadsCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Пропускная способность последней эпохи, образцов в секунду
+     */
+    @Getter
+    private double samplesPerSecond;
+
+    private WorkerContext[] workers;
+
+    @Override
+    protected void resetVariables() {
+        super.resetVariables();
+        samplesPerSecond = 0;
+    }
+
+    @Override
+    protected void createContexts() {
+        workers = new WorkerContext[Math.max(1, threadsCount)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new WorkerContext(net, trainingParameters.isBatched(), trainingParameters.getBatchSize(),
+                    createCorrectionsW(net, workspace), createCorrectionsB(net, workspace), workspace);
+        }
+    }
+
+    @Override
+    protected void releaseVariables() {
+        super.releaseVariables();
+        for (WorkerContext worker : workers) {
+            worker.release();
+        }
+    }
+
+    @Override
+    protected void trainEpoch() {
+        Iterator<Sample> samples = sampleService.getTrainingSampling(epochCount).iterator();
+        double rate = rateFunc.apply(epochCount); //получение скорости обучения на данной эпохе
+
+        List<Callable<Long>> tasks = new ArrayList<>(workers.length);
+        for (WorkerContext worker : workers) {
+            tasks.add(() -> train(worker, samples, rate));
+        }
+
+        Timing timing = Timing.startTiming();
+        long samplesCount = 0;
+        try {
+            for (Future<Long> future : executorService.invokeAll(tasks)) {
+                samplesCount += future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+        Duration duration = timing.stopTiming();
+
+        samplesPerSecond = samplesCount * 1e9 / Math.max(1, duration.toNanos());
+        log.debug("{} | TRAINING: epoch={}, samples={}, threads={}, throughput={} samples/s",
+                teacherName,
+                format("%03d", epochCount + 1),
+                samplesCount,
+                workers.length,
+                format("%.1f", samplesPerSecond)
+        );
+    }
+
+    /**
+     * Цикл одного потока: забирает порции образцов, пока они не закончатся, и корректирует общие веса
+     *
+     * @return количество обработанных потоком образцов
+     */
+    private long train(WorkerContext worker, Iterator<Sample> samples, double rate) {
+        int batchSize = trainingParameters.getBatchSize();
+        List<Sample> batch = new ArrayList<>(batchSize);
+        Matrix[] weights = net.getWeights();
+        Matrix[] biases = net.getBiases();
+        long count = 0;
+
+        while (true) {
+            batch.clear();
+            synchronized (samples) {
+                while (batch.size() < batchSize && samples.hasNext()) {
+                    batch.add(samples.next());
+                }
+            }
+            if (batch.isEmpty()) return count;
+
+            worker.pass(batch); //проход вперед и назад по порции
+            Matrix[] dw = worker.getCorrectionsW();
+            Matrix[] db = worker.getCorrectionsB();
+            long step = optimizerStep.incrementAndGet();
+            for (int i = 0; i < weights.length; i++) {
+                // W[i] = W[i] + (-η * ΔW[i]) для SGD, без блокировок: накопители оптимизатора общие, как и веса
+                optimizer.update(weights[i], dw[i], statesW[i], rate, step);
+                optimizer.update(biases[i], db[i], statesB[i], rate, step);
+            }
+
+            synchronized (trainingErrors) {
+                trainingErrors.add(worker.getErrorValue() / batch.size()); //сохранение средней ошибки порции
+            }
+            count += batch.size();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.synapse.core.training.teachers;
 
 import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixArena;
 import com.synapse.core.matrix.MatrixUtils;
 import com.synapse.core.nets.Net;
+import com.synapse.core.optimizers.Optimizer;
 import com.synapse.core.rates.Rate;
 import com.synapse.core.samples.Sample;
 import com.synapse.core.samples.SampleBatches;
@@ -10,14 +12,25 @@ import com.synapse.core.tools.Monitored;
 import com.synapse.core.tools.Timing;
 import com.synapse.core.training.testers.ParallelTester;
 import com.synapse.core.training.testers.Tester;
+import com.synapse.core.training.TrainingCheckpoint;
 import com.synapse.core.training.TrainingResult;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.DoubleFunction;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.synapse.core.tools.DelayedFormatter.format;
 
@@ -25,54 +38,83 @@ import static com.synapse.core.tools.DelayedFormatter.format;
 @NoArgsConstructor
 public class MiddleTeacher extends Teacher {
 
-    private Matrix[] correctionsW;
-    private Matrix[] correctionsB;
-    private Net net;
-    private Rate rateFunc;
-    private int epochCount;
+    protected Matrix[] correctionsW;
+    protected Matrix[] correctionsB;
+    protected Net net;
+    protected Rate rateFunc;
+    protected Optimizer optimizer;
+    /**
+     * Накопители состояния оптимизатора для весов и смещений: {@code [слой][накопитель]}
+     */
+    protected Matrix[][] statesW;
+    protected Matrix[][] statesB;
+    /**
+     * Количество коррекций весов с начала обучения
+     */
+    protected final AtomicLong optimizerStep = new AtomicLong();
+    protected int epochCount;
     private Tester tester;
-    private List<Double> trainingErrors;
+    protected List<Double> trainingErrors;
+    /**
+     * Рабочая область, в которой выделяются все временные матрицы обучения
+     */
+    protected MatrixArena workspace;
     private CalcContext context;
+    private BatchContext batchContext;
+    private BatchContext tailContext;
+    private MatrixArena tailArena;
+    protected List<Sample> batchSamples;
+    /**
+     * Копии сети для асинхронного тестирования: пока тестируется одна копия, в другую записываются веса следующей эпохи
+     */
+    private Net[] snapshots;
+    private int snapshotIndex;
+    private ExecutorService testingExecutor;
+    private Future<?> pendingTest;
+    /**
+     * Признак остановки по результату тестирования. Выставляется потоком обучения только после того, как результат
+     * тестирования получен, поэтому условие остановки не читает состояние тестировщика, пока тот работает
+     */
+    private volatile boolean stopped;
+    private TrainingCheckpoint resumeCheckpoint;
+    private Instant lastCheckpointTime;
+    /**
+     * Время обучения до контрольной точки, с которой продолжено обучение
+     */
+    private Duration previousDuration;
 
     @Override
     public void learn() {
         log.info("{} | LEARNING:   STARTED", teacherName);
         resetVariables();
-        testing(); //тестирование работы сети перед обучением
-
-        epochCount = 0;
-        Timing timing = Timing.startTiming();
-        do { //цикл одной эпохи
-            log.debug("{} | TRAINING:   STARTED: epoch={}", teacherName, epochCount + 1);
-
-            Iterable<Iterable<Sample>> batches = getNewBatches();
-            int batchCount = 0;
-
-            for (Iterable<Sample> batch : batches) { //цикл по пакетам
-                MatrixUtils.zeros(correctionsW); //зануление накопителей корректировок
-                MatrixUtils.zeros(correctionsB); //зануление накопителей корректировок
-                int sampleCount = 0;
-
-                double batchError = 0; //аккумулятор ошибки пакета
-                for (Sample sample : batch) { //цикл одного пакета
-                    context.pass(sample, batchCount, sampleCount); //проход вперед и назад по сети
-                    batchError += context.getErrorValue(); //сложение ошибки пакета
-                    addCorrections(context.getCorrectionsW(), context.getCorrectionsB()); //сложение корректировки прохода с корректировкой пакета
-                    sampleCount++;
-                }
-                batchError /= trainingParameters.getBatchSize();
-                trainingErrors.add(batchError); //сохранение ошибки пакета
-                applyCorrections(); //коррекция весов
-                batchCount++;
+        Timing timing;
+        try {
+            if (resumeCheckpoint != null) {
+                restoreCheckpoint(resumeCheckpoint); //продолжение обучения с эпохи контрольной точки
+            } else {
+                epochCount = 0;
+                testing(); //тестирование работы сети перед обучением
             }
 
-            epochCount++; //увеличение счетчика эпох
-            testing();
+            timing = Timing.startTiming();
+            lastCheckpointTime = Instant.now();
+            do { //цикл одной эпохи
+                log.debug("{} | TRAINING:   STARTED: epoch={}", teacherName, epochCount + 1);
+
+                trainEpoch(); //проход по всем обучающим образцам
+
+                epochCount++; //увеличение счетчика эпох
+                testing();
+                saveCheckpoint(timing); //сохранение контрольной точки, если подошел ее срок
+            }
+            while (isContinue()); //проверка условия остановки
+            awaitTesting(); //ожидание результата тестирования последней эпохи
+            log.debug("{} | TRAINING: COMPLETED: epoch={}", teacherName, epochCount);
+        } finally {
+            releaseVariables(); //освобождение временных матриц обучения
         }
-        while (tester.isContinue()); //проверка условия остановки
-        log.debug("{} | TRAINING: COMPLETED: epoch={}", teacherName, epochCount);
 
-        trainingResult.setDuration(timing.stopTiming());
+        trainingResult.setDuration(timing.stopTiming().plus(previousDuration));
         trainingResult.setEpochCount(epochCount);
         trainingResult.setStopReason(tester.getStopReason());
         trainingResult.setBestNet(tester.getBestNet());
@@ -82,145 +124,293 @@ public class MiddleTeacher extends Teacher {
         log.info("{} | LEARNING: COMPLETED", teacherName);
     }
 
-    private void resetVariables() {
+    /**
+     * Продолжает обучение с контрольной точки: восстанавливает веса сети, счетчик эпох, коэффициенты скорости
+     * обучения, накопители оптимизатора, историю ошибок, лучшую сеть и порядок обучающей выборки, после чего обучает как {@link #learn()}.
+     * Параметры сети и обучения должны совпадать с параметрами обучения, сохранившего точку
+     *
+     * @param checkpoint Файл контрольной точки
+     * @return Результат обучения
+     * @throws IOException              если файл не является контрольной точкой обучения
+     * @throws IllegalArgumentException если точка сохранена обучением с другими параметрами сети или обучения
+     */
+    public TrainingResult resume(File checkpoint) throws IOException {
+        TrainingCheckpoint loaded = TrainingCheckpoint.load(checkpoint);
+        long parametersHash = TrainingCheckpoint.fingerprint(netParameters, trainingParameters);
+        if (loaded.getParametersHash() != 0 && loaded.getParametersHash() != parametersHash)
+            throw new IllegalArgumentException("Контрольная точка %s сохранена обучением с другими параметрами сети или обучения"
+                    .formatted(checkpoint));
+        resumeCheckpoint = loaded;
+        try {
+            learn();
+        } finally {
+            resumeCheckpoint = null;
+        }
+        return trainingResult;
+    }
+
+    private void restoreCheckpoint(TrainingCheckpoint checkpoint) {
+        Net saved = checkpoint.getNet();
+        if (!Arrays.equals(saved.getLayersSizes(), net.getLayersSizes()))
+            throw new IllegalArgumentException("Размеры слоев сети контрольной точки %s не совпадают с размерами слоев %s"
+                    .formatted(Arrays.toString(saved.getLayersSizes()), Arrays.toString(net.getLayersSizes())));
+        copyWeights(saved, net);
+        epochCount = checkpoint.getEpochCount();
+        if (checkpoint.getRateFactors().length > 0) rateFunc.setFactors(checkpoint.getRateFactors());
+        restoreStates(checkpoint.getOptimizerStates());
+        optimizerStep.set(checkpoint.getOptimizerStep());
+        trainingErrors.addAll(checkpoint.getTrainingErrors());
+        tester.restore(checkpoint);
+        previousDuration = checkpoint.getDuration();
+        log.info("{} | LEARNING:   RESUMED: epoch={}", teacherName, epochCount);
+    }
+
+    /**
+     * Собирает накопители оптимизатора в один массив: для каждого слоя накопители весов, затем накопители смещений
+     */
+    private Matrix[] flattenStates() {
+        int count = optimizer.getStatesCount();
+        Matrix[] states = new Matrix[2 * count * statesW.length];
+        for (int i = 0; i < statesW.length; i++) {
+            System.arraycopy(statesW[i], 0, states, 2 * count * i, count);
+            System.arraycopy(statesB[i], 0, states, 2 * count * i + count, count);
+        }
+        return states;
+    }
+
+    private void restoreStates(Matrix[] saved) {
+        if (saved.length == 0) return; //точка сохранена без накопителей, оптимизатор начинает с нулевых
+        Matrix[] states = flattenStates();
+        if (saved.length != states.length)
+            throw new IllegalArgumentException("Количество накопителей оптимизатора контрольной точки %d не совпадает с количеством %d"
+                    .formatted(saved.length, states.length));
+        for (int i = 0; i < states.length; i++) {
+            MatrixUtils.copyTo(saved[i], states[i]);
+        }
+    }
+
+    /**
+     * Сохраняет контрольную точку, если с предыдущей прошло заданное количество эпох или заданное время.
+     * При асинхронном тестировании сначала дожидается результата тестирования эпохи, чтобы точка содержала
+     * его вместе с весами. Точка не сохраняется, если обучение завершено
+     */
+    private void saveCheckpoint(Timing timing) {
+        if (checkpointFile == null) return;
+        boolean byEpochs = checkpointEpochs > 0 && epochCount % checkpointEpochs == 0;
+        boolean byTime = checkpointInterval != null
+                && Duration.between(lastCheckpointTime, Instant.now()).compareTo(checkpointInterval) >= 0;
+        if (!byEpochs && !byTime) return;
+
+        awaitTesting();
+        if (!isContinue()) return;
+
+        TrainingCheckpoint checkpoint = new TrainingCheckpoint();
+        checkpoint.setEpochCount(epochCount);
+        checkpoint.setParametersHash(TrainingCheckpoint.fingerprint(netParameters, trainingParameters));
+        checkpoint.setDuration(timing.getMoment().plus(previousDuration));
+        checkpoint.setRateFactors(rateFunc.getFactors());
+        checkpoint.setTrainingErrors(trainingErrors);
+        checkpoint.setTestingErrors(tester.getTestingErrors());
+        checkpoint.setTestingPercents(tester.getTestingPercents());
+        checkpoint.setMinTestError(tester.getMinTestError());
+        checkpoint.setBestEpoch(tester.getBestNetTracker().getBestEpoch());
+        checkpoint.setNet(net);
+        checkpoint.setBestNet(tester.getBestNet());
+        checkpoint.setOptimizerStep(optimizerStep.get());
+        checkpoint.setOptimizerStates(flattenStates());
+        try {
+            checkpoint.save(checkpointFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastCheckpointTime = Instant.now();
+        log.debug("{} | CHECKPOINT:   SAVED: epoch={}, file={}", teacherName, epochCount, checkpointFile);
+    }
+
+    protected void resetVariables() {
         net = netParameters.createNet();
         rateFunc = trainingParameters.getRate();
+        optimizer = trainingParameters.getOptimizerOrDefault();
+        optimizerStep.set(0);
         trainingErrors = new ArrayList<>();
         trainingResult = new TrainingResult();
+        previousDuration = Duration.ZERO;
 
         tester = new ParallelTester();
         tester.setName(teacherName);
         tester.setTrainingParameters(trainingParameters);
+        tester.setBestNetFile(bestNetFile);
+
+        workspace = workspacePool != null ? workspacePool.acquire(net) : new MatrixArena(net.getWeights()[0]);
+        tailArena = new MatrixArena(net.getWeights()[0]);
+        tailContext = null;
+        batchSamples = new ArrayList<>(trainingParameters.getBatchSize());
+
+        pendingTest = null;
+        stopped = false;
+        if (trainingParameters.isAsyncTesting()) {
+            snapshots = new Net[]{net.clone(), net.clone()};
+            testingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, teacherName + "-testing");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
 
-        int layerCount = net.getInterLayersCount();
-        Matrix[] weights = net.getWeights();
-        Matrix[] biases = net.getBiases();
-
-        context = new CalcContext(layerCount, weights, biases);
+        correctionsW = createCorrectionsW(net, workspace);
+        correctionsB = createCorrectionsB(net, workspace);
+        statesW = createStates(net.getWeights(), optimizer.getStatesCount(), workspace);
+        statesB = createStates(net.getBiases(), optimizer.getStatesCount(), workspace);
+        createContexts();
+    }
 
-        correctionsW = new Matrix[layerCount];
-        correctionsB = new Matrix[layerCount];
-        for (int i = 0; i < layerCount; i++) {
-            correctionsW[i] = Matrix.create(weights[i].getRowsNumber(), weights[i].getColumnsNumber());
-            correctionsB[i] = Matrix.create(biases[i].getRowsNumber(), biases[i].getColumnsNumber());
+    /**
+     * Создает в рабочей области контексты вычислений, которыми учитель проходит по пакетам
+     */
+    protected void createContexts() {
+        if (trainingParameters.isBatched()) {
+            context = null;
+            batchContext = new BatchContext(net, trainingParameters.getBatchSize(), workspace);
+        } else {
+            context = new CalcContext(net, workspace);
+            batchContext = null;
         }
     }
 
-    private class CalcContext {
-        private Matrix[] y;
-        private Matrix[] v;
-        private Matrix[] g;
-        private Matrix[] w;
-        private Matrix[] b;
-        private Matrix errorMatrix;
-
-        private double errorValue;
-
-        public CalcContext(int layerCount, Matrix[] weights, Matrix[] biases) {
-            y = new Matrix[layerCount + 1];
-            v = new Matrix[layerCount];
-            g = new Matrix[layerCount];
-            w = new Matrix[layerCount];
-            b = new Matrix[layerCount];
-
-            y[0] = Matrix.create(weights[0].getRowsNumber());
-            for (int i = 0; i < weights.length; i++) {
-                y[i + 1] = Matrix.create(weights[i].getColumnsNumber());
-                v[i] = Matrix.create(weights[i].getColumnsNumber());
-                g[i] = Matrix.create(weights[i].getColumnsNumber());
-                w[i] = Matrix.create(weights[i].getRowsNumber(), weights[i].getColumnsNumber());
-                b[i] = Matrix.create(biases[i].getColumnsNumber());
-            }
-            errorMatrix = Matrix.create(weights[weights.length - 1].getColumnsNumber());
+    /**
+     * Освобождает временные матрицы обучения: рабочая область возвращается в пул учителя,
+     * а без пула закрывается. Сеть не освобождается, она остается результатом обучения
+     */
+    protected void releaseVariables() {
+        if (testingExecutor != null) {
+            testingExecutor.shutdownNow();
+            testingExecutor = null;
         }
+        snapshots = null;
+        tailArena.close();
+        if (workspacePool != null) workspacePool.release(net, workspace);
+        else workspace.close();
+        context = null;
+        batchContext = null;
+        tailContext = null;
+        workspace = null;
+    }
 
-        public void pass(Sample sample, int batchCount, int sampleCount) {
-            forwardPass(sample.getSource()); //прямой проход сети
-            calcError(sample.getTarget()); //вычисление и сохранение ошибки сети
-            backwardPass(); //обратный проход
-
-            log.trace("{} | TRAINING: epoch={}, batch={}, sample={}, error={}",
-                    teacherName,
-                    format("%03d", epochCount + 1),
-                    format("%03d", batchCount + 1),
-                    format("%02d", sampleCount + 1),
-                    format("%.4f", errorValue)
-            );
+    /**
+     * Выполняет одну эпоху обучения: проходит по пакетам обучающей выборки и корректирует веса после каждого
+     */
+    protected void trainEpoch() {
+        Iterable<Iterable<Sample>> batches = getNewBatches();
+        int batchCount = 0;
+
+        for (Iterable<Sample> batch : batches) { //цикл по пакетам
+            double batchError = passBatch(batch, batchCount); //проход вперед и назад по пакету
+            batchError /= trainingParameters.getBatchSize();
+            trainingErrors.add(batchError); //сохранение ошибки пакета
+            applyCorrections(); //коррекция весов
+            batchCount++;
         }
+    }
 
+    protected static Matrix[] createCorrectionsW(Net net, MatrixArena arena) {
+        Matrix[] weights = net.getWeights();
+        Matrix[] corrections = new Matrix[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            corrections[i] = arena.allocate(weights[i].getRowsNumber(), weights[i].getColumnsNumber());
+        }
+        return corrections;
+    }
 
-        private void forwardPass(Matrix input) {
-            DoubleFunction<Double> f = net.getActivator();
-            Matrix[] weights = net.getWeights();
-            Matrix[] biases = net.getBiases();
-
-            y[0] = input; // Y[0] = X
-            for (int i = 0; i < net.getInterLayersCount(); i++) {
-                // V[i] = Y[i] x W[i] + B[i]
-                MatrixUtils.mul(y[i], weights[i], v[i]);
-                MatrixUtils.add(v[i], biases[i], v[i]);
-                // Y[i+1] = f(V[i])
-                MatrixUtils.apply(v[i], f, y[i + 1]);
-            }
+    protected static Matrix[] createCorrectionsB(Net net, MatrixArena arena) {
+        Matrix[] biases = net.getBiases();
+        Matrix[] corrections = new Matrix[biases.length];
+        for (int i = 0; i < biases.length; i++) {
+            corrections[i] = arena.allocate(biases[i].getRowsNumber(), biases[i].getColumnsNumber());
         }
+        return corrections;
+    }
 
-        private void calcError(Matrix target) {
-            Matrix output = y[y.length - 1]; // O = Y[L-1]
-            MatrixUtils.sub(target, output, errorMatrix); // E = T - O
-            errorValue = errorMatrix.sqrsSum() / 2;
+    /**
+     * Выделяет в рабочей области обнуленные накопители состояния оптимизатора, по {@code count} на каждую матрицу параметров
+     */
+    protected static Matrix[][] createStates(Matrix[] parameters, int count, MatrixArena arena) {
+        Matrix[][] states = new Matrix[parameters.length][];
+        for (int i = 0; i < parameters.length; i++) {
+            states[i] = arena.allocate(count, parameters[i].getRowsNumber(), parameters[i].getColumnsNumber());
         }
+        return states;
+    }
 
-        private void backwardPass() {
-            DoubleFunction<Double> df = net.getDeactivator();
-            Matrix[] weights = net.getWeights();
-            int last = w.length - 1;
-
-            // δ[L-1] = -f'(V[L-1]) * E
-            MatrixUtils.apply(v[last], df, g[last]);
-            MatrixUtils.prod(g[last], errorMatrix, g[last]);
-            MatrixUtils.scale(g[last], -1.0, g[last]);
-
-            // ΔW[L-1] = Y[L-1]^T x δ[L-1]
-            MatrixUtils.tMul(y[last], g[last], w[last]);
-            // ΔB[L-1] = δ[L-1]
-            MatrixUtils.copyTo(g[last], b[last]);
-
-            for (int i = last - 1; i >= 0; i--) {
-                // δ[i] = f'(V[i]) * (δ[i+1] x W[i+1]^T)
-                MatrixUtils.apply(v[i], df, v[i]);
-                MatrixUtils.mulT(g[i + 1], weights[i + 1], g[i]);
-                MatrixUtils.prod(v[i], g[i], g[i]);
-
-                // ΔW[i] = Y[i]^T x δ[i]
-                MatrixUtils.tMul(y[i], g[i], w[i]);
-                // ΔB[i] = δ[i]
-                MatrixUtils.copyTo(g[i], b[i]);
+    /**
+     * Выполняет проход вперед и назад по всем образцам пакета, записывая суммарные корректировки пакета
+     * в накопители correctionsW и correctionsB
+     *
+     * @return суммарная ошибка пакета
+     */
+    protected double passBatch(Iterable<Sample> batch, int batchCount) {
+        if (trainingParameters.isBatched()) {
+            batchSamples.clear();
+            for (Sample sample : batch) {
+                batchSamples.add(sample);
             }
-        }
 
-        public Matrix[] getCorrectionsW() {
-            return w;
+            BatchContext current = getBatchContext(batchSamples.size());
+            current.pass(batchSamples, correctionsW, correctionsB); //проход вперед и назад всем пакетом
+            log.trace("{} | TRAINING: epoch={}, batch={}, samples={}, error={}",
+                    teacherName,
+                    format("%03d", epochCount + 1),
+                    format("%03d", batchCount + 1),
+                    format("%02d", current.getSize()),
+                    format("%.4f", current.getErrorValue())
+            );
+            return current.getErrorValue();
         }
 
-        public Matrix[] getCorrectionsB() {
-            return b;
-        }
+        MatrixUtils.zeros(correctionsW); //зануление накопителей корректировок
+        MatrixUtils.zeros(correctionsB); //зануление накопителей корректировок
+        int sampleCount = 0;
 
+        double batchError = 0; //аккумулятор ошибки пакета
+        for (Sample sample : batch) { //цикл одного пакета
+            context.pass(sample); //проход вперед и назад по сети
+            batchError += context.getErrorValue(); //сложение ошибки пакета
+            addCorrections(correctionsW, correctionsB, context.getCorrectionsW(), context.getCorrectionsB()); //сложение корректировки прохода с корректировкой пакета
+            log.trace("{} | TRAINING: epoch={}, batch={}, sample={}, error={}",
+                    teacherName,
+                    format("%03d", epochCount + 1),
+                    format("%03d", batchCount + 1),
+                    format("%02d", sampleCount + 1),
+                    format("%.4f", context.getErrorValue())
+            );
+            sampleCount++;
+        }
+        return batchError;
+    }
 
-        public double getErrorValue() {
-            return errorValue;
+    /**
+     * Возвращает контекст вычислений для пакета заданного размера. Контекст полного пакета создается
+     * в рабочей области, контекст последнего неполного пакета эпохи создается один раз в отдельной области
+     * и переиспользуется
+     */
+    private BatchContext getBatchContext(int size) {
+        if (size == batchContext.getSize())
+            return batchContext;
+        if (tailContext == null || tailContext.getSize() != size) {
+            tailArena.reset();
+            tailContext = new BatchContext(net, size, tailArena);
         }
+        return tailContext;
     }
 
     private Iterable<Iterable<Sample>> getNewBatches() {
         return new SampleBatches(
                 trainingParameters.getBatchSize(),
-                sampleService.getTrainingSampling()
+                sampleService.getTrainingSampling(epochCount)
         );
     }
 
 
-    private void addCorrections(Matrix[] dw, Matrix[] db) {
+    protected static void addCorrections(Matrix[] correctionsW, Matrix[] correctionsB, Matrix[] dw, Matrix[] db) {
         for (int i = 0; i < correctionsW.length; i++) {
             MatrixUtils.add(correctionsW[i], dw[i], correctionsW[i]);
             MatrixUtils.add(correctionsB[i], db[i], correctionsB[i]);
@@ -232,22 +422,67 @@ public class MiddleTeacher extends Teacher {
         Matrix[] weights = net.getWeights();
         Matrix[] biases = net.getBiases();
         double rate = rateFunc.apply(epochCount); //получение скорости обучения на данной эпохе
+        long step = optimizerStep.incrementAndGet();
 
         for (int i = 0; i < net.getInterLayersCount(); i++) {
-            // W[i] = W[i] + (-η * ΔW[i])
-            MatrixUtils.scaleSub(weights[i], correctionsW[i], rate, weights[i]);
-            // B[i] = B[i] + (-η * ΔB[i])
-            MatrixUtils.scaleSub(biases[i], correctionsB[i], rate, biases[i]);
+            // W[i] = W[i] + (-η * ΔW[i]) для SGD, для остальных оптимизаторов один проход с их накопителями
+            optimizer.update(weights[i], correctionsW[i], statesW[i], rate, step);
+            optimizer.update(biases[i], correctionsB[i], statesB[i], rate, step);
         }
     }
 
+    /**
+     * Тестирует сеть после эпохи. При асинхронном тестировании дожидается результата предыдущего тестирования,
+     * копирует веса в свободную копию сети и запускает ее тестирование в отдельном потоке
+     */
     private void testing() {
-        tester.test(net, sampleService.getTestingSampling(), epochCount);
+        if (!trainingParameters.isAsyncTesting()) {
+            tester.test(net, sampleService.getTestingSampling(), epochCount);
+            stopped = !tester.isContinue();
+            return;
+        }
+        awaitTesting();
+        if (stopped) return;
+
+        Net snapshot = snapshots[snapshotIndex];
+        snapshotIndex = 1 - snapshotIndex;
+        copyWeights(net, snapshot);
+        int epoch = epochCount;
+        pendingTest = testingExecutor.submit(() -> tester.test(snapshot, sampleService.getTestingSampling(), epoch));
+    }
+
+    private void awaitTesting() {
+        if (pendingTest == null) return;
+        try {
+            pendingTest.get();
+            stopped = !tester.isContinue();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pendingTest = null;
+        }
+    }
+
+    /**
+     * Проверяет, продолжать ли обучение. При асинхронном тестировании результат последней эпохи еще не известен,
+     * поэтому решение принимается по последнему полученному результату, а обучение останавливается и по достижении
+     * наибольшего количества эпох
+     */
+    private boolean isContinue() {
+        if (trainingParameters.isAsyncTesting() && epochCount >= trainingParameters.getMaxEpochsCount()) return false;
+        return !stopped;
+    }
+
+    private static void copyWeights(Net source, Net target) {
+        for (int i = 0; i < source.getInterLayersCount(); i++) {
+            MatrixUtils.copyTo(source.getWeights()[i], target.getWeights()[i]);
+            MatrixUtils.copyTo(source.getBiases()[i], target.getBiases()[i]);
+        }
     }
 
     @Override
     public double getProgress() {
-        if (tester.isContinue()) {
+        if (!stopped) {
             return epochCount * 1.0 / getTrainingParameters().getMaxEpochsCount();
         } else return 1.0;
     }
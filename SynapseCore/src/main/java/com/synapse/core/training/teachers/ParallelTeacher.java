@@ -0,0 +1,139 @@
+package com.synapse.core.training.teachers;
+
+import com.synapse.core.samples.Sample;
+import com.synapse.core.tools.CoreContext;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.synapse.core.tools.DelayedFormatter.format;
+
+/**
+ * Учитель с параллельным по данным вычислением корректировок: каждый пакет делится на равные части
+ * между потоками, каждый поток вычисляет корректировки своей части в собственных буферах,
+ * после чего корректировки потоков складываются попарно деревом (за log2 потоков шагов).
+ * <p>
+ * Результат совпадает с {@link MiddleTeacher} с точностью до порядка суммирования. Ускорение
+ * возможно только при размере пакета больше единицы: пакет не делится на части меньше одного образца
+ */
+@Slf4j
+@NoArgsConstructor
+public class ParallelTeacher extends MiddleTeacher {
+
+    private ExecutorService executorService = CoreContext.EXECUTOR_SERVICE;
+
+    /**
+     * Наибольшее количество потоков, между которыми делится пакет
+     */
+    @Getter
+    @Setter
+    private int threadsCount = Runtime.getRuntime().availableProcessors();
+
+    private WorkerContext[] workers;
+    private final List<Callable<Void>> tasks = new ArrayList<>();
+
+    @Override
+    protected void createContexts() {
+        int count = Math.max(1, Math.min(threadsCount, trainingParameters.getBatchSize()));
+        workers = new WorkerContext[count];
+        // первый поток накапливает корректировки сразу в накопителях учителя, в них же сводится результат
+        int size = trainingParameters.getBatchSize();
+        boolean batched = trainingParameters.isBatched();
+        workers[0] = new WorkerContext(net, batched, partSize(0, size, count), correctionsW, correctionsB, workspace);
+        for (int i = 1; i < count; i++) {
+            workers[i] = new WorkerContext(net, batched, partSize(i, size, count),
+                    createCorrectionsW(net, workspace), createCorrectionsB(net, workspace), workspace);
+        }
+    }
+
+    /**
+     * Вычисляет размер части {@code index} пакета размера {@code size}, поделенного между {@code count} потоками
+     */
+    private static int partSize(int index, int size, int count) {
+        return (index + 1) * size / count - index * size / count;
+    }
+
+    @Override
+    protected void releaseVariables() {
+        super.releaseVariables();
+        for (WorkerContext worker : workers) {
+            worker.release();
+        }
+    }
+
+    @Override
+    protected double passBatch(Iterable<Sample> batch, int batchCount) {
+        batchSamples.clear();
+        for (Sample sample : batch) {
+            batchSamples.add(sample);
+        }
+
+        int size = batchSamples.size();
+        int active = Math.min(workers.length, size);
+
+        tasks.clear();
+        for (int i = 0; i < active; i++) {
+            WorkerContext worker = workers[i];
+            List<Sample> part = batchSamples.subList(i * size / active, (i + 1) * size / active);
+            tasks.add(() -> {
+                worker.pass(part);
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        reduce(active);
+
+        double batchError = 0;
+        for (int i = 0; i < active; i++) {
+            batchError += workers[i].getErrorValue();
+        }
+        log.trace("{} | TRAINING: epoch={}, batch={}, samples={}, threads={}, error={}",
+                teacherName,
+                format("%03d", epochCount + 1),
+                format("%03d", batchCount + 1),
+                format("%02d", size),
+                active,
+                format("%.4f", batchError)
+        );
+        return batchError;
+    }
+
+    /**
+     * Складывает корректировки потоков в накопители первого потока деревом: на шаге {@code step}
+     * поток {@code i} прибавляет к себе корректировки потока {@code i + step}, пары одного шага
+     * складываются параллельно
+     */
+    private void reduce(int active) {
+        for (int step = 1; step < active; step *= 2) {
+            tasks.clear();
+            for (int i = 0; i + step < active; i += 2 * step) {
+                WorkerContext target = workers[i];
+                WorkerContext source = workers[i + step];
+                tasks.add(() -> {
+                    addCorrections(target.getCorrectionsW(), target.getCorrectionsB(),
+                            source.getCorrectionsW(), source.getCorrectionsB());
+                    return null;
+                });
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    private void invokeAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executorService.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
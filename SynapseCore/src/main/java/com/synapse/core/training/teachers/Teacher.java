@@ -9,6 +9,8 @@ import com.synapse.core.training.TrainingResult;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.File;
+import java.time.Duration;
 import java.util.concurrent.Callable;
 
 public abstract class Teacher implements Runnable, Callable<TrainingResult>, Monitored {
@@ -27,6 +29,40 @@ public abstract class Teacher implements Runnable, Callable<TrainingResult>, Mon
     protected TrainingParameters trainingParameters;
     @Getter
     protected TrainingResult trainingResult;
+    /**
+     * Пул рабочих областей, из которого учитель берет память для временных матриц обучения.
+     * Если пул не задан, учитель выделяет собственную область и освобождает ее по окончании обучения
+     */
+    @Getter
+    @Setter
+    protected WorkspacePool workspacePool;
+
+    /**
+     * Файл, в который сохраняется сеть с наименьшей ошибкой тестирования при каждом ее улучшении.
+     * Если файл не задан, лучшая сеть хранится только в памяти
+     */
+    @Getter
+    @Setter
+    protected File bestNetFile;
+
+    /**
+     * Файл контрольной точки обучения. Если файл не задан, контрольные точки не сохраняются
+     */
+    @Getter
+    @Setter
+    protected File checkpointFile;
+    /**
+     * Через сколько эпох сохраняется контрольная точка. Если 0, точки по количеству эпох не сохраняются
+     */
+    @Getter
+    @Setter
+    protected int checkpointEpochs;
+    /**
+     * Через какое время обучения сохраняется контрольная точка. Если не задано, точки по времени не сохраняются
+     */
+    @Getter
+    @Setter
+    protected Duration checkpointInterval;
 
     public abstract void learn();
 
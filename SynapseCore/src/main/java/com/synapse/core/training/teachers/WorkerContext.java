@@ -0,0 +1,97 @@
+package com.synapse.core.training.teachers;
+
+import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixArena;
+import com.synapse.core.matrix.MatrixUtils;
+import com.synapse.core.nets.Net;
+import com.synapse.core.samples.Sample;
+
+import java.util.List;
+
+/**
+ * Буферы одного потока обучения: контексты вычислений и накопители корректировок части пакета.
+ * В пакетном режиме ({@code batched}) часть пакета проходит по сети матрицей, иначе по одному образцу
+ */
+class WorkerContext {
+    private final Net net;
+    private final Matrix[] correctionsW;
+    private final Matrix[] correctionsB;
+    private final CalcContext context;
+    private final BatchContext batchContext;
+    /**
+     * Область контекста неполной части пакета. Принадлежит потоку, поэтому ее можно заполнять во время обучения
+     */
+    private final MatrixArena tailArena;
+    private BatchContext tailContext;
+    private double errorValue;
+
+    /**
+     * Создает буферы потока в рабочей области учителя. Все выделения выполняются в конструкторе,
+     * поэтому контексты потоков можно создавать последовательно из одной области
+     *
+     * @param size Размер части полного пакета, которую обрабатывает поток в пакетном режиме
+     */
+    public WorkerContext(Net net, boolean batched, int size, Matrix[] correctionsW, Matrix[] correctionsB, MatrixArena arena) {
+        this.net = net;
+        this.correctionsW = correctionsW;
+        this.correctionsB = correctionsB;
+        this.context = batched ? null : new CalcContext(net, arena);
+        this.batchContext = batched ? new BatchContext(net, size, arena) : null;
+        this.tailArena = new MatrixArena(net.getWeights()[0]);
+    }
+
+    /**
+     * Вычисляет суммарные корректировки и суммарную ошибку образцов, перезаписывая накопители
+     */
+    public void pass(List<Sample> samples) {
+        if (batchContext != null) {
+            BatchContext current = getBatchContext(samples.size());
+            current.pass(samples, correctionsW, correctionsB);
+            errorValue = current.getErrorValue();
+            return;
+        }
+
+        MatrixUtils.zeros(correctionsW);
+        MatrixUtils.zeros(correctionsB);
+        errorValue = 0;
+        for (Sample sample : samples) {
+            context.pass(sample);
+            errorValue += context.getErrorValue();
+            MiddleTeacher.addCorrections(correctionsW, correctionsB, context.getCorrectionsW(), context.getCorrectionsB());
+        }
+    }
+
+    /**
+     * Возвращает контекст для части пакета заданного размера. Части полных пакетов имеют
+     * постоянный размер, поэтому пересоздается только контекст неполного пакета
+     */
+    private BatchContext getBatchContext(int size) {
+        if (batchContext.getSize() == size)
+            return batchContext;
+        if (tailContext == null || tailContext.getSize() != size) {
+            tailArena.reset();
+            tailContext = new BatchContext(net, size, tailArena);
+        }
+        return tailContext;
+    }
+
+    /**
+     * Освобождает память контекста неполной части пакета. Остальные буферы принадлежат рабочей области учителя
+     */
+    public void release() {
+        tailArena.close();
+        tailContext = null;
+    }
+
+    public Matrix[] getCorrectionsW() {
+        return correctionsW;
+    }
+
+    public Matrix[] getCorrectionsB() {
+        return correctionsB;
+    }
+
+    public double getErrorValue() {
+        return errorValue;
+    }
+}
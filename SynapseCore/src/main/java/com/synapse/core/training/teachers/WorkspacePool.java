@@ -0,0 +1,59 @@
+package com.synapse.core.training.teachers;
+
+import com.synapse.core.matrix.MatrixArena;
+import com.synapse.core.nets.Net;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Пул рабочих областей обучения. Учитель берет из пула область для своей сети, выделяет в ней все временные
+ * матрицы и по окончании обучения возвращает ее. Следующий учитель с сетью той же топологии и того же класса
+ * матриц получает ту же область и повторно использует ее матрицы, не выделяя память заново. Если он запрашивает
+ * матрицы других размерностей (другой размер пакета, количество потоков или оптимизатор), область перестраивает
+ * свою память на месте прежних матриц, а не добавляет новую.
+ * <p>
+ * Пул потокобезопасен: каждая область выдается только одному учителю, поэтому параллельные эксперименты
+ * одинаковой топологии получают разные области
+ */
+public class WorkspacePool implements AutoCloseable {
+
+    private final Map<String, Deque<MatrixArena>> free = new HashMap<>();
+
+    /**
+     * Выдает свободную область для сети или создает новую
+     */
+    public synchronized MatrixArena acquire(Net net) {
+        Deque<MatrixArena> arenas = free.get(getKey(net));
+        MatrixArena arena = arenas != null ? arenas.poll() : null;
+        return arena != null ? arena : new MatrixArena(net.getWeights()[0]);
+    }
+
+    /**
+     * Возвращает область в пул. Матрицы области остаются выделенными до закрытия пула
+     */
+    public synchronized void release(Net net, MatrixArena arena) {
+        arena.reset();
+        free.computeIfAbsent(getKey(net), key -> new ArrayDeque<>()).push(arena);
+    }
+
+    /**
+     * Освобождает все свободные области пула
+     */
+    @Override
+    public synchronized void close() {
+        for (Deque<MatrixArena> arenas : free.values()) {
+            for (MatrixArena arena : arenas) {
+                arena.close();
+            }
+        }
+        free.clear();
+    }
+
+    private static String getKey(Net net) {
+        return net.getWeights()[0].getClass().getName() + Arrays.toString(net.getLayersSizes());
+    }
+}
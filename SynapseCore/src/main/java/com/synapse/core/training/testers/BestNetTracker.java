@@ -0,0 +1,74 @@
+package com.synapse.core.training.testers;
+
+import com.synapse.core.matrix.MatrixUtils;
+import com.synapse.core.nets.Net;
+import com.synapse.core.nets.NetFile;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Хранит копию сети с наименьшей ошибкой тестирования.
+ * <p>
+ * Копия создается один раз при первом тестировании, при каждом следующем улучшении ошибки
+ * веса сети копируются в нее целыми массивами без выделения новых матриц
+ */
+@Slf4j
+@Getter
+public class BestNetTracker {
+
+    private Net bestNet;
+    private double minError = Double.MAX_VALUE;
+    private int bestEpoch = -1;
+    /**
+     * Файл, в который сохраняется лучшая сеть при каждом улучшении ошибки. Если файл не задан, сеть не сохраняется
+     */
+    @Setter
+    private File file;
+
+    /**
+     * Восстанавливает лучшую сеть продолжаемого обучения. Сеть не копируется, трекер становится ее владельцем
+     */
+    public void restore(Net bestNet, double minError, int bestEpoch) {
+        this.bestNet = bestNet;
+        this.minError = minError;
+        this.bestEpoch = bestEpoch;
+    }
+
+    /**
+     * Запоминает сеть, если ее ошибка меньше наименьшей ошибки из ранее переданных сетей
+     *
+     * @return true, если сеть запомнена как лучшая
+     */
+    public boolean update(Net net, double error, int epoch) {
+        if (error >= minError) return false;
+
+        if (bestNet == null || !Arrays.equals(bestNet.getLayersSizes(), net.getLayersSizes())
+                || bestNet.getPrecision() != net.getPrecision()) {
+            bestNet = net.clone();
+        } else {
+            for (int i = 0; i < net.getInterLayersCount(); i++) {
+                MatrixUtils.copyTo(net.getWeights()[i], bestNet.getWeights()[i]);
+                MatrixUtils.copyTo(net.getBiases()[i], bestNet.getBiases()[i]);
+            }
+            bestNet.setActivation(net.getActivation());
+        }
+        minError = error;
+        bestEpoch = epoch;
+
+        if (file != null) {
+            try {
+                NetFile.save(bestNet, file);
+                log.debug("BEST NET SAVED: epoch={}, file={}", epoch, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return true;
+    }
+}
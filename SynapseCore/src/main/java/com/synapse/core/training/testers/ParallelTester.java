@@ -1,6 +1,7 @@
 package com.synapse.core.training.testers;
 
 import com.synapse.core.matrix.Matrix;
+import com.synapse.core.nets.InferenceContext;
 import com.synapse.core.nets.Net;
 import com.synapse.core.samples.Sample;
 import com.synapse.core.tools.CoreContext;
@@ -9,57 +10,121 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.concurrent.*;
 
 import static com.synapse.core.tools.DelayedFormatter.format;
 
+/**
+ * Тестировщик, проверяющий тестовую выборку параллельно.
+ * <p>
+ * Выборка делится на части по количеству ядер процессора, каждая часть проверяется одной задачей
+ * пакетами по {@value BATCH_SIZE} образцов: входы пакета складываются в матрицу и проходят сеть одним
+ * матричным умножением на слой. Задачи суммируют ошибку и количество верных ответов своей части,
+ * а рабочие области прямого прохода сохраняются между эпохами
+ */
 @Slf4j
 @NoArgsConstructor
 public class ParallelTester extends Tester {
 
+    /**
+     * Количество образцов, проходящих сеть одним пакетом
+     */
+    public static final int BATCH_SIZE = 64;
+
     private ExecutorService executorService = CoreContext.EXECUTOR_SERVICE;
+    private final int partsCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Рабочие области прямого прохода, по одной на часть выборки
+     */
+    private final InferenceContext[] workspaces = new InferenceContext[partsCount];
 
     @Override
     protected TestResult performTest(Net net, Iterable<Sample> samples, int epoch) {
-        double error = 0;
-        double percent = 0;
-        int count = 0;
-        List<Future<TestResult>> futures = new ArrayList<>();
+        List<Sample> list = toList(samples);
+        int size = list.size();
+        int parts = Math.max(1, Math.min(partsCount, size));
 
-        for (Sample sample : samples) {
-            futures.add(executorService.submit(getTask(net, sample, epoch)));
-            count++;
+        List<Callable<TestResult>> tasks = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            int part = i;
+            int from = i * size / parts;
+            int to = (i + 1) * size / parts;
+            tasks.add(() -> testPart(net, list.subList(from, to), getWorkspace(net, part)));
         }
-        for (Future<TestResult> future : futures) {
-            try {
+
+        double error = 0;
+        double percent = 0;
+        try {
+            for (Future<TestResult> future : executorService.invokeAll(tasks)) {
                 TestResult testResult = future.get();
-                error += testResult.getPercent();
+                error += testResult.getError();
                 percent += testResult.getPercent();
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
             }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
         }
-        error = error / count;
-        percent = percent / count * 100;
+        log.trace("{} |  TESTING: epoch={}, count={}, parts={}", name, format("%03d", epoch), size, parts);
+
+        error = error / size;
+        percent = percent / size * 100;
         return new TestResult(error, percent);
     }
 
-    private Callable<TestResult> getTask(Net net, Sample sample, int epoch) {
-        return () -> {
-            Matrix result = net.pass(sample.getSource());
-            Matrix target = sample.getTarget();
-            Matrix err = target.sub(result);
-            double error = err.sqrsSum() / 2;
-
-            boolean right = getClassIndex(result) == getClassIndex(target);
-            double percent = right ? 1 : 0;
-            log.trace("{} |  TESTING: epoch={}, error={}, classify={}",
-                    name,
-                    format("%03d", epoch),
-                    format("%.4f", error),
-                    right
-            );
-            return new TestResult(error, percent);
-        };
+    private static List<Sample> toList(Iterable<Sample> samples) {
+        if (samples instanceof List<Sample> list && list instanceof RandomAccess) return list;
+        List<Sample> list = new ArrayList<>();
+        samples.forEach(list::add);
+        return list;
+    }
+
+    private InferenceContext getWorkspace(Net net, int part) {
+        InferenceContext workspace = workspaces[part];
+        if (workspace == null || !workspace.fits(net)) {
+            workspace = new InferenceContext(net.getLayersSizes(), net.getPrecision(), BATCH_SIZE);
+            workspaces[part] = workspace;
+        }
+        return workspace;
+    }
+
+    /**
+     * Проверяет часть выборки
+     *
+     * @return Сумма ошибок и количество верных ответов на образцах части
+     */
+    private static TestResult testPart(Net net, List<Sample> samples, InferenceContext workspace) {
+        double error = 0;
+        double right = 0;
+        for (int start = 0; start < samples.size(); start += BATCH_SIZE) {
+            int count = Math.min(BATCH_SIZE, samples.size() - start);
+            for (int row = 0; row < count; row++) {
+                workspace.setInput(row, samples.get(start + row).getSource());
+            }
+            Matrix result = workspace.pass(net); // строки после count остаются от прошлого пакета и не читаются
+            for (int row = 0; row < count; row++) {
+                Matrix target = samples.get(start + row).getTarget();
+                error += sqrsDiffSum(target, result, row) / 2;
+                if (getClassIndex(result, row) == getClassIndex(target)) right++;
+            }
+        }
+        return new TestResult(error, right);
+    }
+
+    private static double sqrsDiffSum(Matrix target, Matrix result, int row) {
+        double sum = 0;
+        for (int i = 0; i < target.getItemsNumber(); i++) {
+            double diff = target.getItem(i) - result.getItem(row, i);
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private static int getClassIndex(Matrix matrix, int row) {
+        int maxIndex = 0;
+        for (int i = 0; i < matrix.getColumnsNumber(); i++) {
+            maxIndex = matrix.getItem(row, i) > matrix.getItem(row, maxIndex) ? i : maxIndex;
+        }
+        return maxIndex;
     }
 }
@@ -1,6 +1,7 @@
 package com.synapse.core.training.testers;
 
 import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.MatrixUtils;
 import com.synapse.core.nets.Net;
 import com.synapse.core.samples.Sample;
 import lombok.NoArgsConstructor;
@@ -19,10 +20,9 @@ public class SerialTester extends Tester {
         int count = 0;
 
         for (Sample sample : samples) {
-            Matrix result = net.pass(sample.getSource());
+            Matrix result = net.infer(sample.getSource());
             Matrix target = sample.getTarget();
-            Matrix err = target.sub(result);
-            error += err.sqrsSum() / 2;
+            error += MatrixUtils.sqrsDiffSum(target, result) / 2;
 
             int resultIndex = getClassIndex(result);
             int targetIndex = getClassIndex(target);
@@ -3,11 +3,13 @@ package com.synapse.core.training.testers;
 import com.synapse.core.matrix.Matrix;
 import com.synapse.core.nets.Net;
 import com.synapse.core.samples.Sample;
+import com.synapse.core.training.TrainingCheckpoint;
 import com.synapse.core.training.TrainingParameters;
 import com.synapse.core.training.TrainingResult;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,26 +26,37 @@ public abstract class Tester {
     protected String name;
     protected double errorLimit;
     protected int maxEpochsCount;
-    protected double minTestError;
     protected List<Double> testingErrors;
     protected List<Double> testingPercents;
-    protected Net bestNet;
+    protected BestNetTracker bestNetTracker = new BestNetTracker();
     protected TrainingResult.StopReason stopReason;
 
     public void setTrainingParameters(TrainingParameters parameters){
         errorLimit = parameters.getErrorLimit();
         maxEpochsCount = parameters.getMaxEpochsCount();
-        minTestError = Double.MAX_VALUE;
+        File bestNetFile = bestNetTracker.getFile();
+        bestNetTracker = new BestNetTracker();
+        bestNetTracker.setFile(bestNetFile);
         testingErrors = new ArrayList<>();
         testingPercents = new ArrayList<>();
     }
 
+    /**
+     * Восстанавливает результаты тестирования продолжаемого обучения из контрольной точки
+     */
+    public void restore(TrainingCheckpoint checkpoint) {
+        testingErrors.addAll(checkpoint.getTestingErrors());
+        testingPercents.addAll(checkpoint.getTestingPercents());
+        bestNetTracker.restore(checkpoint.getBestNet(), checkpoint.getMinTestError(), checkpoint.getBestEpoch());
+        stopReason = null;
+    }
+
     public void test(Net net, Iterable<Sample> samples, int epoch) {
         log.debug("{} |  TESTING:   STARTED: epoch={}", name, epoch);
 
         TestResult testResult = performTest(net, samples, epoch);
 
-        saveTestValues(net, testResult.getError(), testResult.getPercent());
+        saveTestValues(net, testResult.getError(), testResult.getPercent(), epoch);
         double speed = getSpeed(testingErrors);
 
         log.debug("{} |  TESTING: COMPLETED: error={}, percent={}%, speed={}",
@@ -64,13 +77,10 @@ public abstract class Tester {
         double error;
         double percent;
     }
-    private void saveTestValues(Net net, double error, double percent) {
+    private void saveTestValues(Net net, double error, double percent, int epoch) {
         testingErrors.add(error);
         testingPercents.add(percent);
-        if (error < minTestError) {
-            bestNet = net;
-            minTestError = error;
-        }
+        bestNetTracker.update(net, error, epoch);
     }
 
     private void determineResult(int epoch, double error, double speed) {
@@ -93,6 +103,24 @@ public abstract class Tester {
     }
 
 
+    /**
+     * Возвращает копию сети с наименьшей ошибкой тестирования
+     */
+    public Net getBestNet() {
+        return bestNetTracker.getBestNet();
+    }
+
+    public double getMinTestError() {
+        return bestNetTracker.getMinError();
+    }
+
+    /**
+     * Задает файл, в который сохраняется лучшая сеть при каждом улучшении ошибки тестирования
+     */
+    public void setBestNetFile(File file) {
+        bestNetTracker.setFile(file);
+    }
+
     public boolean isContinue() {
         return stopReason == null;
     }
@@ -0,0 +1,231 @@
+package com.synapse.data.convertation;
+
+import com.synapse.core.samples.PackedSampleWriter;
+import com.synapse.core.samples.Sample;
+import com.synapse.core.samples.SampleType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Конвейер преобразования набора данных в упакованные файлы образцов.
+ * <p>
+ * Конвейер состоит из трех стадий, связанных ограниченными очередями длиной в количество ядер процессора:
+ * <ol>
+ *     <li>чтение — один поток читает исходные элементы (файлы, записи) в сырые данные;</li>
+ *     <li>декодирование — по потоку на ядро преобразуют сырые данные в образцы;</li>
+ *     <li>запись — вызывающий поток записывает образцы в порядке чтения в файлы-части
+ *     {@code <name>_000.packed, <name>_001.packed, ...} по {@code shardSize} образцов.</li>
+ * </ol>
+ * Очереди ограничивают количество данных в памяти, а порядок образцов в файлах не зависит от потоков,
+ * поэтому результат преобразования воспроизводим. Чтение опережает запись не более чем на {@code 2 * threadsCount}
+ * элементов, поэтому образцы, ожидающие записи предыдущих по порядку, тоже не накапливаются
+ *
+ * @param <T> Тип исходных элементов
+ * @param <R> Тип сырых данных
+ */
+@Slf4j
+public class ConversionPipeline<T, R> {
+
+    public static final String EXTENSION = ".packed";
+
+    /**
+     * Стадия чтения: передает в {@code output} сырые данные, прочитанные из исходного элемента
+     */
+    @FunctionalInterface
+    public interface Reader<T, R> {
+        void read(T item, Output<R> output) throws IOException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    public interface Output<R> {
+        void accept(R raw) throws InterruptedException;
+    }
+
+    /**
+     * Стадия декодирования: преобразует сырые данные в образец
+     */
+    @FunctionalInterface
+    public interface Decoder<R> {
+        Sample decode(R raw) throws IOException;
+    }
+
+    private record Entry<V>(long index, V value) {
+    }
+
+    private static final Entry<?> END = new Entry<>(-1, null);
+
+    private final Reader<T, R> reader;
+    private final Decoder<R> decoder;
+    private final SampleType sourceType;
+    private final SampleType targetType;
+    private final int threadsCount = Runtime.getRuntime().availableProcessors();
+
+    private volatile Throwable failure;
+    private long samplesCount;
+    private long durationNanos;
+
+    /**
+     * @param reader     Стадия чтения
+     * @param decoder    Стадия декодирования
+     * @param sourceType Тип, которым в файлах хранятся элементы источников
+     * @param targetType Тип, которым в файлах хранятся элементы целей
+     */
+    public ConversionPipeline(Reader<T, R> reader, Decoder<R> decoder, SampleType sourceType, SampleType targetType) {
+        this.reader = reader;
+        this.decoder = decoder;
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+    }
+
+    /**
+     * Преобразует элементы в файлы-части в каталоге {@code directory}
+     *
+     * @param items     Исходные элементы
+     * @param directory Каталог результата
+     * @param name      Имя файлов-частей без номера и расширения
+     * @param shardSize Наибольшее количество образцов в одном файле
+     * @return Созданные файлы-части
+     */
+    public List<File> convert(Iterable<T> items, File directory, String name, int shardSize)
+            throws IOException, InterruptedException {
+        if (shardSize < 1)
+            throw new IllegalArgumentException("Размер части должен быть натуральным числом, а не %d".formatted(shardSize));
+        failure = null;
+        samplesCount = 0;
+        long start = System.nanoTime();
+
+        BlockingQueue<Entry<R>> raws = new ArrayBlockingQueue<>(threadsCount);
+        BlockingQueue<Entry<Sample>> samples = new ArrayBlockingQueue<>(threadsCount);
+        // разрешения на прочитанные, но еще не записанные элементы
+        Semaphore window = new Semaphore(2 * threadsCount);
+        List<Thread> threads = new ArrayList<>();
+        threads.add(start("read-" + name, () -> read(items, raws, window)));
+        for (int i = 0; i < threadsCount; i++) {
+            threads.add(start("decode-%s-%d".formatted(name, i), () -> decode(raws, samples)));
+        }
+
+        List<File> shards = new ArrayList<>();
+        try {
+            write(samples, window, directory, name, shardSize, shards);
+        } finally {
+            threads.forEach(Thread::interrupt);
+            for (Thread thread : threads) thread.join();
+        }
+        if (failure != null) throw new IOException("Ошибка преобразования " + name, failure);
+
+        durationNanos = System.nanoTime() - start;
+        log.info("{}: {} samples in {} files, {} s, {} images/s", name, samplesCount, shards.size(),
+                "%.1f".formatted(durationNanos / 1e9), "%.1f".formatted(getImagesPerSecond()));
+        return shards;
+    }
+
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private Thread start(String name, Stage stage) {
+        Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException ignored) {
+            } catch (Throwable e) {
+                if (failure == null) failure = e;
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void read(Iterable<T> items, BlockingQueue<Entry<R>> raws, Semaphore window) throws Exception {
+        long[] index = {0};
+        for (T item : items) {
+            reader.read(item, raw -> {
+                window.acquire();
+                raws.put(new Entry<>(index[0]++, raw));
+            });
+        }
+        for (int i = 0; i < threadsCount; i++) raws.put((Entry<R>) END);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decode(BlockingQueue<Entry<R>> raws, BlockingQueue<Entry<Sample>> samples) throws Exception {
+        for (Entry<R> raw = raws.take(); raw != END; raw = raws.take()) {
+            samples.put(new Entry<>(raw.index(), decoder.decode(raw.value())));
+        }
+        samples.put((Entry<Sample>) END);
+    }
+
+    private void write(BlockingQueue<Entry<Sample>> samples, Semaphore window, File directory, String name,
+                       int shardSize, List<File> shards) throws IOException, InterruptedException {
+        // образцы, декодированные раньше предыдущих по порядку чтения; их не больше размера окна чтения
+        Map<Long, Sample> pending = new HashMap<>();
+        PackedSampleWriter writer = null;
+        int finished = 0;
+        try {
+            while (finished < threadsCount && failure == null) {
+                // ожидание с таймаутом, чтобы заметить ошибку другой стадии
+                Entry<Sample> entry = samples.poll(100, TimeUnit.MILLISECONDS);
+                if (entry == null) continue;
+                if (entry == END) {
+                    finished++;
+                    continue;
+                }
+                pending.put(entry.index(), entry.value());
+                for (Sample sample = pending.remove(samplesCount); sample != null; sample = pending.remove(samplesCount)) {
+                    if (samplesCount % shardSize == 0) {
+                        if (writer != null) writer.close();
+                        File shard = Path.of(directory.getPath(), "%s_%03d%s".formatted(name, shards.size(), EXTENSION)).toFile();
+                        writer = new PackedSampleWriter(shard, sample.getSourceSize(), sourceType,
+                                sample.getTargetSize(), targetType);
+                        shards.add(shard);
+                    }
+                    writer.write(sample);
+                    samplesCount++;
+                    window.release();
+                }
+            }
+        } finally {
+            if (writer != null) writer.close();
+        }
+    }
+
+    /**
+     * Возвращает количество образцов, записанных последним преобразованием
+     */
+    public long getSamplesCount() {
+        return samplesCount;
+    }
+
+    /**
+     * Возвращает скорость последнего преобразования в образцах (изображениях) в секунду
+     */
+    public double getImagesPerSecond() {
+        return samplesCount * 1e9 / Math.max(1, durationNanos);
+    }
+
+    /**
+     * Возвращает файлы-части с заданным именем из каталога в порядке номеров
+     */
+    public static List<File> listShards(File directory, String name) {
+        File[] files = directory.listFiles((dir, file) -> file.matches(Pattern.quote(name) + "_\\d+" + Pattern.quote(EXTENSION)));
+        if (files == null) return List.of();
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return List.of(files);
+    }
+}
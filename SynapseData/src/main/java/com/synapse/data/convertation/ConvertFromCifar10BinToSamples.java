@@ -1,61 +1,53 @@
 package com.synapse.data.convertation;
 
-import com.synapse.core.samples.Sample;
+import com.synapse.core.samples.SampleType;
 import com.synapse.data.dataset.Cifar10;
 
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class ConvertFromCifar10BinToSamples {
 
-    public static final int N_THREADS = 50;
+    /**
+     * Количество изображений в одном файле CIFAR-10 и в одном файле-части результата
+     */
+    public static final int SHARD_SIZE = 10000;
     static String root = "C:\\Users\\xma4602\\Documents\\ВУЗ\\Диплом\\программа\\datasets\\cifar-10";
     static Path bin = Path.of(root, "bin");
     static Path samples = Path.of(root, "samples");
 
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) throws IOException, InterruptedException {
         File[] files = bin.toFile().listFiles();
         assert files != null;
-
-        List<Callable<File>> tasks = Arrays.stream(files)
-                .map(file -> (Callable<File>) () -> convertFromBinToSample(file))
-                .toList();
-        ExecutorService executorService = Executors.newFixedThreadPool(N_THREADS);
-        executorService.invokeAll(tasks);
-        executorService.shutdown();
+        Arrays.sort(files, Comparator.comparing(File::getName));
+
+        List<File> training = Arrays.stream(files).filter(file -> file.getName().startsWith("data_batch")).toList();
+        List<File> testing = Arrays.stream(files).filter(file -> file.getName().startsWith("test_batch")).toList();
+
+        // пиксели и метки CIFAR-10 — байты, поэтому хранятся без потери точности как uint8
+        ConversionPipeline<File, byte[]> pipeline = new ConversionPipeline<>(
+                ConvertFromCifar10BinToSamples::readRecords, Cifar10::decodeRecord,
+                SampleType.UINT8, SampleType.UINT8
+        );
+        pipeline.convert(training, samples.toFile(), "data_batch", SHARD_SIZE);
+        pipeline.convert(testing, samples.toFile(), "test_batch", SHARD_SIZE);
     }
 
-    private static File convertFromBinToSample(File binFile) {
-        try {
-            File sampleFile = getSampleFile(binFile);
-            sampleFile.createNewFile();
-            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(sampleFile))) {
-                int i = 1;
-                for (Sample sample : Cifar10.readSamplesFromBinFile(binFile)) {
-                    out.writeObject(sample);
-                    System.out.printf("FILE: %17s | SAMPLE: %04d%n", binFile.getName(), i++);
-                }
+    private static void readRecords(File binFile, ConversionPipeline.Output<byte[]> output)
+            throws IOException, InterruptedException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(binFile))) {
+            for (byte[] record = in.readNBytes(Cifar10.RECORD_SIZE); record.length > 0; record = in.readNBytes(Cifar10.RECORD_SIZE)) {
+                if (record.length != Cifar10.RECORD_SIZE)
+                    throw new IOException("Файл %s оборван на неполной записи".formatted(binFile));
+                output.accept(record);
             }
-            return sampleFile;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         }
-
-    }
-
-    private static File getSampleFile(File file) throws IOException {
-        String name = file.getName().split("\\.")[0];
-        Path path = Path.of(samples.toString(), name + ".sample");
-        if (Files.notExists(path)) Files.createFile(path);
-        return path.toFile();
     }
 }
@@ -1,25 +1,38 @@
 package com.synapse.data.convertation;
 
-import com.synapse.core.samples.Sample;
-import com.synapse.core.tools.CoreContext;
+import com.synapse.core.samples.SampleType;
 import com.synapse.data.dataset.Digiface;
 
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class ConvertFromDigifaceBinToSamples {
 
-    public static void main(String[] args) throws InterruptedException {
+    /**
+     * Каждое TESTING_STEP-е изображение личности попадает в тестовую выборку
+     */
+    public static final int TESTING_STEP = 4;
+    public static final int SHARD_SIZE = 1000;
+
+    /**
+     * Изображение личности с номером {@code label}
+     */
+    private record Image(File file, int label) {
+    }
+
+    private record RawImage(byte[] bytes, int label) {
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
         String root = "C:\\Users\\User\\Desktop\\Михаил Ханов\\DigiFace";
         File sourceDir = Path.of(root, "images").toFile();
         File resultDir = Path.of(root, "samples").toFile();
@@ -34,32 +47,24 @@ public class ConvertFromDigifaceBinToSamples {
                 .map(Map.Entry::getValue)
                 .toArray(File[]::new);
 
-        List<Callable<File>> tasks = getTasks(resultDir, dirs);
-        ExecutorService executorService = CoreContext.EXECUTOR_SERVICE;
-        executorService.invokeAll(tasks);
-        executorService.shutdown();
-    }
-
-    private static List<Callable<File>> getTasks(File resultDir, File[] dirs) {
-        List<Callable<File>> tasks = new ArrayList<>();
-        for (int index = 0; index < dirs.length; index++) {
-            for (File file : dirs[index].listFiles()) {
-                tasks.add(getTask(resultDir, file, index, dirs.length));
+        List<Image> training = new ArrayList<>();
+        List<Image> testing = new ArrayList<>();
+        for (int label = 0; label < dirs.length; label++) {
+            File[] files = dirs[label].listFiles();
+            Arrays.sort(files, Comparator.comparing(File::getName));
+            for (int i = 0; i < files.length; i++) {
+                (i % TESTING_STEP == TESTING_STEP - 1 ? testing : training).add(new Image(files[i], label));
             }
         }
-        return tasks;
-    }
 
-    private static Callable<File> getTask(File resultDir, File file, int index, int length) {
-        return () -> {
-            Sample sample = Digiface.convert(file, index, length);
-            String name = file.getParentFile().getName() + "_" + file.getName().split("\\.")[0] + ".sample";
-            File resultFile = Files.createFile(Path.of(resultDir.getPath(), name)).toFile();
-            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(resultFile))) {
-                out.writeObject(sample);
-            }
-            return resultFile;
-        };
+        int classesCount = dirs.length;
+        ConversionPipeline<Image, RawImage> pipeline = new ConversionPipeline<>(
+                (image, output) -> output.accept(new RawImage(Files.readAllBytes(image.file().toPath()), image.label())),
+                raw -> Digiface.convert(ImageIO.read(new ByteArrayInputStream(raw.bytes())), raw.label(), classesCount),
+                SampleType.UINT8, SampleType.UINT8
+        );
+        pipeline.convert(training, resultDir, "training", SHARD_SIZE);
+        pipeline.convert(testing, resultDir, "testing", SHARD_SIZE);
     }
 
 }
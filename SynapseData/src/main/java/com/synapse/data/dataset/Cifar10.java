@@ -1,14 +1,35 @@
 package com.synapse.data.dataset;
 
 import com.synapse.core.matrix.Matrix;
+import com.synapse.core.matrix.Precision;
+import com.synapse.core.samples.LabeledSamples;
 import com.synapse.core.samples.Sample;
+import com.synapse.core.samples.SampleType;
+import com.synapse.core.tools.CoreContext;
 
-import java.io.*;
-import java.util.Iterator;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class Cifar10 {
 
     public static final int IMAGE_SIZE = 3072;
+    public static final int CHANNEL_SIZE = 1024;
+    public static final int RECORD_SIZE = IMAGE_SIZE + 1;
+    public static final int CLASSES_COUNT = 10;
+
+    /**
+     * Количество изображений, декодируемых одной задачей
+     */
+    private static final int CHUNK_SIZE = 1024;
 
 //    public static List<BufferedImage> readImagesFromBinFile(File file) {
 //        List<BufferedImage> images = new ArrayList<>();
@@ -29,70 +50,147 @@ public class Cifar10 {
 //        return images;
 //    }
 
+    /**
+     * Переставляет байты изображения из поканального порядка CIFAR-10 (R..., G..., B...) в попиксельный (RGB, RGB, ...)
+     */
     private static byte[] formatBytes(byte[] bytes) {
         byte[] b = new byte[bytes.length];
-        for (int i = 0; i < bytes.length / 3; i++) {
-            b[i] = bytes[i];
-            b[i + 1] = bytes[i + 1024];
-            b[i + 2] = bytes[i + 2048];
+        for (int i = 0; i < CHANNEL_SIZE; i++) {
+            b[3 * i] = bytes[i];
+            b[3 * i + 1] = bytes[i + CHANNEL_SIZE];
+            b[3 * i + 2] = bytes[i + 2 * CHANNEL_SIZE];
         }
         return b;
     }
 
 
-    public static Iterable<Sample> readSamplesFromBinFile(File file) throws FileNotFoundException {
-        BufferedInputStream in = new BufferedInputStream(new FileInputStream(file));
-        return () -> new Iterator<>() {
+    public static Iterable<Sample> readSamplesFromBinFile(File file) throws IOException {
+        return readSamplesFromBinFile(file, Precision.DOUBLE);
+    }
 
-            @Override
-            public boolean hasNext() {
-                try {
-                    return in.available() >= IMAGE_SIZE;
-                } catch (EOFException e) {
-                    try {
-                        in.close();
-                    } catch (IOException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                    return false;
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+    /**
+     * Читает образцы из бинарного файла CIFAR-10
+     *
+     * @see #decode(List, SampleType)
+     */
+    public static Iterable<Sample> readSamplesFromBinFile(File file, Precision precision) throws IOException {
+        return decode(List.of(file), precision == Precision.FLOAT ? SampleType.FLOAT32 : SampleType.FLOAT64);
+    }
 
-            @Override
-            public Sample next() {
-                try {
-                    Matrix target = nextTarget();
-                    Matrix source = nextSource();
-                    return new Sample(source, target);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+    /**
+     * Декодирует бинарные файлы CIFAR-10 в одну упакованную выборку.
+     * <p>
+     * Файлы отображаются в память, а изображения декодируются параллельно блоками по {@value CHUNK_SIZE}
+     * сразу в общий буфер источников: пиксели переставляются в попиксельный порядок RGB, байты хранятся
+     * как есть ({@link SampleType#UINT8}) или переводятся в числа из [0, 1] заданного типа.
+     * Номера классов записываются в массив меток
+     *
+     * @param files Бинарные файлы CIFAR-10
+     * @param type  Тип элементов источников
+     * @throws IOException если размер файла не кратен длине записи CIFAR-10 или запись содержит несуществующий класс
+     */
+    public static LabeledSamples decode(List<File> files, SampleType type) throws IOException {
+        List<ByteBuffer> records = new ArrayList<>(files.size());
+        int count = 0;
+        for (File file : files) {
+            ByteBuffer mapped = map(file);
+            records.add(mapped);
+            count = Math.addExact(count, mapped.capacity() / RECORD_SIZE);
+        }
 
-            private Matrix nextTarget() throws IOException {
-                double[] doubles = new double[10];
-                int index = in.read();
-                doubles[index] = 1;
-                return Matrix.create(doubles);
-            }
+        ByteBuffer sources = LabeledSamples.allocateSources(count, IMAGE_SIZE, type);
+        byte[] labels = new byte[count];
 
-            private Matrix nextSource() throws IOException {
-                byte[] bytes = in.readNBytes(3072);
-                double[] doubles = new double[bytes.length];
-                for (int i = 0; i < bytes.length / 3; i++) {
-                    doubles[i] = getUnsignedDouble(bytes[i]);
-                    doubles[i + 1] = getUnsignedDouble(bytes[i + 1024]);
-                    doubles[i + 2] = getUnsignedDouble(bytes[i + 2048]);
-                }
-                return Matrix.create(doubles);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        int first = 0;
+        for (int f = 0; f < files.size(); f++) {
+            File file = files.get(f);
+            ByteBuffer fileRecords = records.get(f);
+            int fileCount = fileRecords.capacity() / RECORD_SIZE;
+            for (int start = 0; start < fileCount; start += CHUNK_SIZE) {
+                int from = start;
+                int to = Math.min(fileCount, start + CHUNK_SIZE);
+                int offset = first;
+                tasks.add(() -> {
+                    decode(file, fileRecords, from, to, offset, type, sources, labels);
+                    return null;
+                });
+            }
+            first += fileCount;
+        }
+        try {
+            for (Future<Void> future : CoreContext.EXECUTOR_SERVICE.invokeAll(tasks)) {
+                future.get();
             }
+        } catch (ExecutionException e) {
+            // пул задач может обернуть исключение задачи несколько раз
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) throw ioException;
+            }
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return new LabeledSamples(sources, type, IMAGE_SIZE, labels, CLASSES_COUNT);
+    }
 
-            private static double getUnsignedDouble(byte value) {
-                return (value & 0xFF) / 255.0;
+    /**
+     * Декодирует одну запись бинарного файла CIFAR-10 (метка и изображение) в образец
+     * с матрицами класса, заданного в MatrixSettings
+     */
+    public static Sample decodeRecord(byte[] record) {
+        if (record.length != RECORD_SIZE)
+            throw new IllegalArgumentException("Длина записи CIFAR-10 должна быть %d байт, а не %d".formatted(RECORD_SIZE, record.length));
+        int label = record[0] & 0xFF;
+        if (label >= CLASSES_COUNT)
+            throw new IllegalArgumentException("Метка записи CIFAR-10 должна быть меньше %d, а не %d".formatted(CLASSES_COUNT, label));
+        double[] target = new double[CLASSES_COUNT];
+        target[label] = 1;
+        double[] source = new double[IMAGE_SIZE];
+        for (int i = 0; i < CHANNEL_SIZE; i++) {
+            for (int channel = 0; channel < 3; channel++) {
+                source[3 * i + channel] = (record[1 + channel * CHANNEL_SIZE + i] & 0xFF) / 255.0;
             }
+        }
+        return new Sample(Matrix.create(source), Matrix.create(target));
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() % RECORD_SIZE != 0)
+                throw new IOException("Размер файла %s не кратен длине записи CIFAR-10 (%d байт)".formatted(file, RECORD_SIZE));
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
 
-        };
+    /**
+     * Декодирует записи файла с номерами [from, to) в образцы выборки. Записи файла начинаются с образца {@code offset}
+     *
+     * @throws IOException если метка записи не является номером класса CIFAR-10
+     */
+    private static void decode(File file, ByteBuffer records, int from, int to, int offset,
+                               SampleType type, ByteBuffer sources, byte[] labels) throws IOException {
+        int size = type.getSize();
+        for (int record = from; record < to; record++) {
+            int in = record * RECORD_SIZE;
+            int sample = offset + record;
+            int label = records.get(in) & 0xFF;
+            if (label >= CLASSES_COUNT)
+                throw new IOException("Запись %d файла %s содержит метку %d, а классов CIFAR-10 всего %d"
+                        .formatted(record, file, label, CLASSES_COUNT));
+            labels[sample] = (byte) label;
+            int out = sample * IMAGE_SIZE * size;
+            for (int i = 0; i < CHANNEL_SIZE; i++) {
+                for (int channel = 0; channel < 3; channel++) {
+                    byte value = records.get(in + 1 + channel * CHANNEL_SIZE + i);
+                    int position = out + (3 * i + channel) * size;
+                    if (type == SampleType.UINT8) {
+                        sources.put(position, value);
+                    } else {
+                        type.put(sources, position, (value & 0xFF) / 255.0);
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,64 @@
+package com.synapse.data.dataset;
+
+import com.synapse.core.samples.IndexedSampleService;
+import com.synapse.core.samples.LabeledSamples;
+import com.synapse.core.samples.Sample;
+import com.synapse.core.samples.SampleType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Сервис образцов, загружающий обучающую и тестовую выборки напрямую из бинарных файлов CIFAR-10.
+ * Файлы декодируются параллельно в упакованные выборки ({@link Cifar10#decode(List, SampleType)}),
+ * поэтому все шесть файлов набора загружаются за секунды и занимают в куче 150 МБ как uint8
+ */
+public class Cifar10SampleService implements IndexedSampleService {
+
+    private final LabeledSamples trainingSamples;
+    private final LabeledSamples testingSamples;
+    private final long loadingMillis;
+
+    /**
+     * @param trainingFiles Файлы обучающей выборки (data_batch_1.bin ... data_batch_5.bin)
+     * @param testingFiles  Файлы тестовой выборки (test_batch.bin)
+     * @param type          Тип элементов источников: UINT8 для байтов как есть, FLOAT32 или FLOAT64
+     */
+    public Cifar10SampleService(List<File> trainingFiles, List<File> testingFiles, SampleType type) throws IOException {
+        long start = System.nanoTime();
+        trainingSamples = Cifar10.decode(trainingFiles, type);
+        testingSamples = Cifar10.decode(testingFiles, type);
+        loadingMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    public Cifar10SampleService(List<File> trainingFiles, List<File> testingFiles) throws IOException {
+        this(trainingFiles, testingFiles, SampleType.UINT8);
+    }
+
+    @Override
+    public List<Sample> getTrainingSamples() {
+        return trainingSamples;
+    }
+
+    @Override
+    public Iterable<Sample> getTrainingSampling() {
+        return trainingSamples;
+    }
+
+    @Override
+    public Iterable<Sample> getTestingSampling() {
+        return testingSamples;
+    }
+
+    @Override
+    public List<String> getReport() {
+        return List.of(
+                "Cifar10SampleService:\n",
+                "\tsource type=%s\n".formatted(trainingSamples.getSourceType()),
+                "\ttraining size=%d\n".formatted(trainingSamples.size()),
+                "\ttesting  size=%d\n".formatted(testingSamples.size()),
+                "\tloading time=%d ms\n".formatted(loadingMillis)
+        );
+    }
+}
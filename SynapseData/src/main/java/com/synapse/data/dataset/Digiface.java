@@ -11,7 +11,10 @@ import java.io.IOException;
 
 public class Digiface {
     public static Sample convert(File file, int targetIndex, int targetSize) throws IOException {
-        BufferedImage image = ImageIO.read(file);
+        return convert(ImageIO.read(file), targetIndex, targetSize);
+    }
+
+    public static Sample convert(BufferedImage image, int targetIndex, int targetSize) {
         Matrix source = ImageService.convertRGB(image, false);
         double[] doubles = new double[targetSize];
         doubles[targetIndex] = 1;
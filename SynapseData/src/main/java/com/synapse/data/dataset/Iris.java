@@ -21,6 +21,13 @@ public class Iris {
             "Iris-setosa", "Iris-versicolor", "Iris-virginica"
     );
 
+    /**
+     * Преобразует строку CSV-файла набора Iris в образец
+     */
+    public static Sample convert(String line) {
+        return convert(line.split(","));
+    }
+
     private static Sample convert(String[] line) {
         double[] source = new double[4];
         double[] target = new double[3];
@@ -6,9 +6,12 @@ import com.synapse.core.experimentation.ExperimentResult;
 import com.synapse.core.experimentation.Experimenter;
 import com.synapse.core.experimentation.ParallelExperimenter;
 import com.synapse.core.rates.ConstantRate;
-import com.synapse.core.samples.FileSampleService;
-import com.synapse.core.samples.InMemorySampleService;
+import com.synapse.core.samples.MappedSampleService;
+import com.synapse.core.samples.PrefetchingSampleService;
+import com.synapse.core.samples.ShuffledSampleService;
+import com.synapse.data.convertation.ConversionPipeline;
 
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
@@ -22,6 +25,7 @@ public class LearningCifar10 {
 
     public static final int CIFAR10_INPUT = 32 * 32 * 3;
     public static final int CIFAR10_OUTPUT = 10;
+    public static final long SHUFFLE_SEED = 10;
 
     static String getNow() {
         return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
@@ -34,12 +38,15 @@ public class LearningCifar10 {
 
     public static ExperimentResult learn() throws IOException {
         String root = "C:\\Users\\xma4602\\Documents\\ВУЗ\\Диплом\\программа\\datasets\\cifar-10";
-        Path trainingFile = Path.of(root, "samples", "data_batch_1.sample");
-        Path testingFile = Path.of(root, "samples", "test_batch.sample");
+        File samplesDir = Path.of(root, "samples").toFile();
+        List<File> trainingFiles = ConversionPipeline.listShards(samplesDir, "data_batch");
+        List<File> testingFiles = ConversionPipeline.listShards(samplesDir, "test_batch");
 
-        InMemorySampleService sampleService = new InMemorySampleService(new FileSampleService(
-                List.of(trainingFile.toFile()), 500,
-                List.of(testingFile.toFile()), 500
+        // все 50000 обучающих изображений читаются из отображенных в память файлов, не занимая кучу,
+        // перемешиваются на каждой эпохе и декодируются в фоновом потоке одновременно с обучением.
+        // Порядок эпохи задается ее номером у каждого учителя, поэтому эксперименты делят один сервис
+        PrefetchingSampleService sampleService = new PrefetchingSampleService(new ShuffledSampleService(
+                new MappedSampleService(trainingFiles, testingFiles), SHUFFLE_SEED
         ));
 
         Experimenter experimenter = new ParallelExperimenter();
@@ -58,9 +65,13 @@ public class LearningCifar10 {
         experimenter.setEpochCounts(10);
         experimenter.setSampleServices(sampleService);
         experimenter.setLayerSizes(new int[]{CIFAR10_INPUT, 5000, CIFAR10_OUTPUT});
+        // после каждой эпохи сохраняются контрольные точки, и прерванный запуск продолжается с них
+        Path checkpointsDir = Files.createDirectories(Path.of(root, "checkpoints"));
+        experimenter.setCheckpointDirectory(checkpointsDir.toFile());
 
         ExperimentResult experimentResult = experimenter.call();
         experimentResult.printReport();
+        sampleService.printReport();
 
         Path resultFile = Path.of(root, "experimentation", getNow() + "_result.exp.res");
         Files.createFile(resultFile);
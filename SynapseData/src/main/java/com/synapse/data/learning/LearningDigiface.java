@@ -5,9 +5,10 @@ import com.synapse.core.experimentation.ExperimentResult;
 import com.synapse.core.experimentation.Experimenter;
 import com.synapse.core.experimentation.SerialExperimenter;
 import com.synapse.core.rates.ConstantRate;
-import com.synapse.core.samples.FileSampleService;
-import com.synapse.core.samples.InMemorySampleService;
-import com.synapse.core.samples.SampleService;
+import com.synapse.core.samples.MappedSampleService;
+import com.synapse.core.samples.PrefetchingSampleService;
+import com.synapse.core.samples.ShuffledSampleService;
+import com.synapse.data.convertation.ConversionPipeline;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -17,11 +18,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 public class LearningDigiface {
 
     public static final int DIGIFACE_INPUT = 112 * 112 * 3;
     public static final int DIGIFACE_OUTPUT = 3;
+    public static final long SHUFFLE_SEED = 3;
 
     static String getNow() {
         return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
@@ -34,12 +37,16 @@ public class LearningDigiface {
 
     public static ExperimentResult learn() throws IOException {
         String root = "C:\\Users\\User\\Desktop\\Михаил Ханов\\DigiFace";
-        File[] samples = Path.of(root, "samples").toFile().listFiles();
+        File samplesDir = Path.of(root, "samples").toFile();
+        List<File> trainingFiles = ConversionPipeline.listShards(samplesDir, "training");
+        List<File> testingFiles = ConversionPipeline.listShards(samplesDir, "testing");
 
         Experimenter experimenter = new SerialExperimenter();
 
         experimenter.setSampleServices(
-                new InMemorySampleService(new FileSampleService(SampleService.makeSampling(0.75, samples)))
+                new PrefetchingSampleService(new ShuffledSampleService(
+                        new MappedSampleService(trainingFiles, testingFiles), SHUFFLE_SEED
+                ))
         );
         experimenter.setLayerSizes(
                 new int[]{DIGIFACE_INPUT, 10000, DIGIFACE_OUTPUT}
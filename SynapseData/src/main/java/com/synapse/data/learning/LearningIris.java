@@ -8,7 +8,10 @@ import com.synapse.core.experimentation.ParallelExperimenter;
 import com.synapse.core.experimentation.SerialExperimenter;
 import com.synapse.core.rates.ConstantRate;
 import com.synapse.core.samples.InMemorySampleService;
+import com.synapse.core.samples.PackedSampleReader;
 import com.synapse.core.samples.Sample;
+import com.synapse.core.samples.ShuffledSampleService;
+import com.synapse.data.convertation.ConversionPipeline;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -22,6 +25,7 @@ public class LearningIris {
 
     public static final int IRIS_INPUT = 4;
     public static final int IRIS_OUTPUT = 3;
+    public static final long SHUFFLE_SEED = 4;
 
 
     public static void main(String[] args) throws IOException {
@@ -30,11 +34,13 @@ public class LearningIris {
 
     public static ExperimentResult learn() throws IOException {
         String root = "C:\\Users\\User\\Desktop\\Михаил Ханов\\iris";
-        Path dataFile = Path.of(root, "samples", "data.sample");
+        List<File> dataFiles = ConversionPipeline.listShards(Path.of(root, "samples").toFile(), "data");
 
 
         Experimenter experimenter = new ParallelExperimenter();
-        InMemorySampleService sampleService = new InMemorySampleService(0.75, readSamples(dataFile));
+        ShuffledSampleService sampleService = new ShuffledSampleService(
+                new InMemorySampleService(0.75, readSamples(dataFiles)), SHUFFLE_SEED
+        );
         experimenter.setActivations(
                 new ActivationLog(0.1),
                 new ActivationLog(0.2),
@@ -66,15 +72,12 @@ public class LearningIris {
         return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
     }
 
-    private static List<Sample> readSamples(Path dataFile) throws IOException {
+    private static List<Sample> readSamples(List<File> dataFiles) throws IOException {
         List<Sample> samples = new ArrayList<>();
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(dataFile.toFile()))) {
-            while (true) {
-                samples.add((Sample) in.readObject());
+        for (File dataFile : dataFiles) {
+            try (PackedSampleReader reader = new PackedSampleReader(dataFile)) {
+                reader.forEachRemaining(samples::add);
             }
-        } catch (EOFException ignored) {
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
         }
         return samples;
     }